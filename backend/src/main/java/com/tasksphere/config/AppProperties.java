@@ -18,6 +18,8 @@ public class AppProperties {
     private S3 s3 = new S3();
     private Security security = new Security();
     private Email email = new Email();
+    private Audit audit = new Audit();
+    private Realtime realtime = new Realtime();
 
     @Data
     public static class Jwt {
@@ -25,6 +27,7 @@ public class AppProperties {
         private long expiration = 900000; // 15 minutes
         private long refreshExpiration = 604800000; // 7 days
         private String issuer = "tasksphere-api";
+        private long wsTicketExpiration = 30000; // 30 seconds
     }
 
     @Data
@@ -41,6 +44,55 @@ public class AppProperties {
         private int rateLimitLoginAttempts = 5;
         private int rateLimitApiRequests = 100;
         private int lockoutMinutes = 15;
+        private String rateLimitBackend = "redis"; // redis | local
+        private int rateLimitTableSize = 65536; // max keys tracked by local limiters
+    }
+
+    @Data
+    public static class Audit {
+        private int queueCapacity = 10000;
+        private int batchSize = 200;
+        private long flushIntervalMs = 500;
+        private Overflow overflow = Overflow.DROP_NEWEST;
+        private long blockTimeoutMs = 50; // max wait per event when overflow is BLOCK
+        private long shutdownTimeoutMs = 5000;
+        private int retentionMonths = 12; // 0 keeps everything
+        private boolean archiveExpired = true; // false drops expired partitions outright
+        private int partitionsAhead = 3;
+
+        public enum Overflow {
+            DROP_NEWEST,  // discard the event being logged
+            DROP_OLDEST,  // discard the oldest queued event
+            BLOCK,        // wait up to blockTimeoutMs, then discard
+            CALLER_RUNS   // write synchronously in the calling thread
+        }
+    }
+
+    @Data
+    public static class Realtime {
+        private long dedupWindowMs = 120000;
+        private int dedupCapacity = 65536; // event ids per dedup generation
+        private int fanoutShards = 0; // serial broker dispatch threads, 0 = one per core
+        private int fanoutQueueCapacity = 10000; // per shard; full shards drop events
+        private int handshakeRatePerSecond = 500; // per node
+        private int handshakeBurst = 2000;
+        private int handshakeRetryJitterSeconds = 10; // Retry-After spread for rejected handshakes
+        private double handshakeResumeReserve = 0.2; // share of the burst only resuming clients may use
+        private long resumeTokenTtlMs = 900000; // clients re-fetch the resume token well within this
+        private int handshakeCacheSize = 50000; // verified access tokens kept for reconnects
+        private int schedulerPoolSize = 10; // broker heartbeats and @Scheduled jobs
+        private int sockJsSchedulerPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private long sockJsHeartbeatMs = 25000;
+        private Pool inbound = new Pool();
+        private Pool outbound = new Pool();
+
+        @Data
+        public static class Pool {
+            private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+            private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+            private int queueCapacity = Integer.MAX_VALUE;
+            private int keepAliveSeconds = 60;
+        }
     }
 
     @Data
@@ -0,0 +1,203 @@
+package com.tasksphere.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+/**
+ * STOMP encoder that encodes the shared part of a broadcast MESSAGE frame once
+ *
+ * The simple broker hands the same payload array to every subscriber; only
+ * the subscription, message-id and ack headers differ between their frames.
+ * Everything else (the remaining headers, content-length, the body and the
+ * terminating NUL) is encoded on first use and kept in a small cache keyed by
+ * payload identity, so each further session costs one array copy. Other
+ * frames, and MESSAGE frames whose shared headers do not match the cached
+ * ones, go through the standard encoder. Like any message payload, the array
+ * must not change once sent.
+ */
+public class FanoutStompEncoder extends StompEncoder {
+
+    private static final int SLOTS = 64;
+    private static final byte[] MESSAGE_LINE = "MESSAGE\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CONTENT_LENGTH = "content-length:".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicReferenceArray<Tail> tails = new AtomicReferenceArray<>(SLOTS);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Map<String, Object> headers, byte[] payload) {
+        Object nativeHeaders = headers.get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+        if (payload.length == 0 || !(nativeHeaders instanceof Map)
+                || StompHeaderAccessor.getCommand(headers) != StompCommand.MESSAGE) {
+            return super.encode(headers, payload);
+        }
+        Map<String, List<String>> nh = (Map<String, List<String>>) nativeHeaders;
+
+        int slot = System.identityHashCode(payload) & (SLOTS - 1);
+        Tail tail = tails.get(slot);
+        if (tail == null || tail.payload != payload || !tail.matches(nh)) {
+            tail = Tail.of(nh, payload);
+            if (tail == null) {
+                return super.encode(headers, payload);
+            }
+            tails.set(slot, tail);
+        }
+
+        int size = MESSAGE_LINE.length + tail.bytes.length;
+        for (Map.Entry<String, List<String>> e : nh.entrySet()) {
+            if (isPerSession(e.getKey())) {
+                for (String value : e.getValue()) {
+                    size += e.getKey().length() + 1 + escapedLength(value) + 1;
+                }
+            }
+        }
+        byte[] frame = new byte[size];
+        System.arraycopy(MESSAGE_LINE, 0, frame, 0, MESSAGE_LINE.length);
+        int pos = MESSAGE_LINE.length;
+        for (Map.Entry<String, List<String>> e : nh.entrySet()) {
+            if (isPerSession(e.getKey())) {
+                for (String value : e.getValue()) {
+                    pos = writeEscaped(e.getKey(), frame, pos);
+                    frame[pos++] = ':';
+                    pos = writeEscaped(value, frame, pos);
+                    frame[pos++] = '\n';
+                }
+            }
+        }
+        System.arraycopy(tail.bytes, 0, frame, pos, tail.bytes.length);
+        return frame;
+    }
+
+    private static boolean isPerSession(String header) {
+        return "subscription".equals(header) || "message-id".equals(header) || "ack".equals(header);
+    }
+
+    private static boolean isShared(String header) {
+        return !isPerSession(header) && !"content-length".equals(header);
+    }
+
+    /**
+     * Length of a header key or value once escaped, or -1 if it is not plain ASCII
+     */
+    private static int escapedLength(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return -1;
+            }
+            n += (c == '\\' || c == ':' || c == '\n' || c == '\r') ? 2 : 1;
+        }
+        return n;
+    }
+
+    /**
+     * Write with STOMP 1.2 header escaping; callers only pass ASCII (see {@link Tail#of})
+     */
+    private static int writeEscaped(String s, byte[] out, int pos) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> { out[pos++] = '\\'; out[pos++] = '\\'; }
+                case ':' -> { out[pos++] = '\\'; out[pos++] = 'c'; }
+                case '\n' -> { out[pos++] = '\\'; out[pos++] = 'n'; }
+                case '\r' -> { out[pos++] = '\\'; out[pos++] = 'r'; }
+                default -> out[pos++] = (byte) c;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Encoded shared headers, content-length, blank line, body and NUL of one payload
+     */
+    private static final class Tail {
+        final byte[] payload;
+        final Map<String, List<String>> shared;
+        final byte[] bytes;
+
+        private Tail(byte[] payload, Map<String, List<String>> shared, byte[] bytes) {
+            this.payload = payload;
+            this.shared = shared;
+            this.bytes = bytes;
+        }
+
+        /**
+         * @return the tail, or null if any header is not plain ASCII and needs the standard encoder
+         */
+        static Tail of(Map<String, List<String>> nativeHeaders, byte[] payload) {
+            Map<String, List<String>> shared = new LinkedHashMap<>();
+            byte[] length = Integer.toString(payload.length).getBytes(StandardCharsets.US_ASCII);
+            int size = CONTENT_LENGTH.length + length.length + 2 + payload.length + 1;
+            for (Map.Entry<String, List<String>> e : nativeHeaders.entrySet()) {
+                int keyLength = escapedLength(e.getKey());
+                if (keyLength < 0) {
+                    return null;
+                }
+                for (String value : e.getValue()) {
+                    int valueLength = escapedLength(value);
+                    if (valueLength < 0) {
+                        return null;
+                    }
+                    if (isShared(e.getKey())) {
+                        size += keyLength + 1 + valueLength + 1;
+                    }
+                }
+                if (isShared(e.getKey())) {
+                    shared.put(e.getKey(), List.copyOf(e.getValue()));
+                }
+            }
+
+            byte[] bytes = new byte[size];
+            int pos = 0;
+            for (Map.Entry<String, List<String>> e : shared.entrySet()) {
+                for (String value : e.getValue()) {
+                    pos = writeEscaped(e.getKey(), bytes, pos);
+                    bytes[pos++] = ':';
+                    pos = writeEscaped(value, bytes, pos);
+                    bytes[pos++] = '\n';
+                }
+            }
+            System.arraycopy(CONTENT_LENGTH, 0, bytes, pos, CONTENT_LENGTH.length);
+            pos += CONTENT_LENGTH.length;
+            System.arraycopy(length, 0, bytes, pos, length.length);
+            pos += length.length;
+            bytes[pos++] = '\n';
+            bytes[pos++] = '\n';
+            System.arraycopy(payload, 0, bytes, pos, payload.length);
+            // Last byte stays 0: the frame terminator
+            return new Tail(payload, shared, bytes);
+        }
+
+        /**
+         * Whether a frame's shared headers are the ones this tail was encoded with,
+         * and its per-session headers are plain ASCII
+         */
+        boolean matches(Map<String, List<String>> nativeHeaders) {
+            int seen = 0;
+            for (Map.Entry<String, List<String>> e : nativeHeaders.entrySet()) {
+                if (isShared(e.getKey())) {
+                    if (!e.getValue().equals(shared.get(e.getKey()))) {
+                        return false;
+                    }
+                    seen++;
+                } else if (isPerSession(e.getKey())) {
+                    for (String value : e.getValue()) {
+                        if (escapedLength(value) < 0 || escapedLength(e.getKey()) < 0) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return seen == shared.size();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.tasksphere.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The application's JSON mapper
+ *
+ * Declaring redisObjectMapper makes Boot skip its own ObjectMapper, so this
+ * one is built the same way Boot would and marked primary. Event payloads and
+ * HTTP responses use it; the Redis mapper with default typing is only for
+ * cache values and must be asked for by name.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    @Primary
+    public ObjectMapper objectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false).build();
+    }
+}
@@ -88,7 +88,8 @@ public class RedisCacheConfig {
 
     /**
      * 🎯 Custom Object Mapper for Redis Serialization
-     * Optimized for cache performance
+     * Optimized for cache performance. Not the default mapper: inject it by name
+     * (see {@link JacksonConfig})
      */
     @Bean
     public ObjectMapper redisObjectMapper() {
@@ -3,13 +3,17 @@ package com.tasksphere.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 
+import com.tasksphere.security.ProjectAclService;
+import com.tasksphere.security.TokenRevocationService;
 import com.tasksphere.service.RealtimeSubscriber;
 
 @Configuration
@@ -34,7 +38,9 @@ public class RedisConfig {
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            RealtimeSubscriber realtimeSubscriber) {
+            RealtimeSubscriber realtimeSubscriber,
+            TokenRevocationService tokenRevocationService,
+            ProjectAclService projectAclService) {
         
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         
@@ -42,17 +48,27 @@ public class RedisConfig {
         if (connectionFactory != null) {
             container.setConnectionFactory(connectionFactory);
         }
+
+        // Dispatch on the subscription thread in arrival order instead of a new thread per message;
+        // the listeners only update caches or hand off to the fan-out executor
+        container.setTaskExecutor(new SyncTaskExecutor());
         
         if (realtimeSubscriber != null) {
             // Create listener adapter for our subscriber
             MessageListenerAdapter listenerAdapter = new MessageListenerAdapter(realtimeSubscriber);
             
             // Subscribe to project, issue, and sprint channels with pattern matching
-            container.addMessageListener(listenerAdapter, new ChannelTopic("project.*"));
-            container.addMessageListener(listenerAdapter, new ChannelTopic("issue.*"));  
-            container.addMessageListener(listenerAdapter, new ChannelTopic("sprint.*"));
+            container.addMessageListener(listenerAdapter, new PatternTopic("project.*"));
+            container.addMessageListener(listenerAdapter, new PatternTopic("issue.*"));
+            container.addMessageListener(listenerAdapter, new PatternTopic("sprint.*"));
         }
         
+        // Access token revocations broadcast by any replica
+        container.addMessageListener(tokenRevocationService, new ChannelTopic(TokenRevocationService.CHANNEL));
+
+        // Project membership changes made on any replica
+        container.addMessageListener(projectAclService, new ChannelTopic(ProjectAclService.CHANNEL));
+        
         return container;
     }
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package com.tasksphere.config;
 
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
 
+import com.tasksphere.event.ShardedSerialExecutor;
+import com.tasksphere.security.TopicSubscriptionInterceptor;
 import com.tasksphere.security.WebSocketAuthInterceptor;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -20,17 +28,58 @@ import lombok.RequiredArgsConstructor;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor authInterceptor;
+    private final TopicSubscriptionInterceptor subscriptionInterceptor;
+    private final AppProperties properties;
 
     @Bean
     @NonNull
     public TaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(10);
+        scheduler.setPoolSize(properties.getRealtime().getSchedulerPoolSize());
         scheduler.setThreadNamePrefix("websocket-");
+        scheduler.setRemoveOnCancelPolicy(true);
         scheduler.initialize();
         return scheduler;
     }
 
+    /**
+     * SockJS schedules a heartbeat per session and reschedules it on every write. Kept apart from
+     * taskScheduler so tens of thousands of sessions cannot delay broker heartbeats or jobs, and
+     * cancelled heartbeats are removed at once rather than piling up in the queue
+     */
+    @Bean
+    public ThreadPoolTaskScheduler sockJsTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(properties.getRealtime().getSockJsSchedulerPoolSize());
+        scheduler.setThreadNamePrefix("sockjs-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Runs the simple broker's fan-out for events from Redis: one serial shard per topic hash,
+     * so a topic keeps its order while a busy topic only holds up the topics sharing its shard
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ShardedSerialExecutor realtimeFanoutExecutor(MeterRegistry meterRegistry) {
+        AppProperties.Realtime config = properties.getRealtime();
+        int shards = config.getFanoutShards() > 0
+                ? config.getFanoutShards() : Runtime.getRuntime().availableProcessors();
+        return new ShardedSerialExecutor("realtime.fanout", shards, config.getFanoutQueueCapacity(), meterRegistry);
+    }
+
+    /**
+     * Broadcasts reach many sessions with the same payload; encode their shared frame bytes once.
+     * The STOMP handler is created by the endpoint registry, so the encoder is set once all beans exist
+     */
+    @Bean
+    public SmartInitializingSingleton fanoutStompEncoderInstaller(ApplicationContext context) {
+        return () -> context.getBean(SubProtocolWebSocketHandler.class).getProtocolHandlers().stream()
+                .filter(StompSubProtocolHandler.class::isInstance)
+                .forEach(handler -> ((StompSubProtocolHandler) handler).setEncoder(new FanoutStompEncoder()));
+    }
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry registry) {
         // Enable a simple in-memory broker with heartbeats for production reliability
@@ -39,6 +88,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setTaskScheduler(taskScheduler()); // Add TaskScheduler for heartbeats
         registry.setApplicationDestinationPrefixes("/app"); // incoming from client
         registry.setUserDestinationPrefix("/user"); // private user messages
+        // Per-session delivery in publish order even though the outbound channel is a pool
+        registry.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
+        configure(registration, properties.getRealtime().getInbound());
+        registration.interceptors(subscriptionInterceptor); // project ACL check on SUBSCRIBE
+    }
+
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        configure(registration, properties.getRealtime().getOutbound());
+    }
+
+    private static void configure(ChannelRegistration registration, AppProperties.Realtime.Pool pool) {
+        registration.taskExecutor()
+                .corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(Math.max(pool.getCorePoolSize(), pool.getMaxPoolSize()))
+                .queueCapacity(pool.getQueueCapacity())
+                .keepAliveSeconds(pool.getKeepAliveSeconds());
     }
 
     @Override
@@ -51,6 +121,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     "https://tasksphere.app",
                     "https://www.tasksphere.app"
                 )
-                .withSockJS();                      // SockJS fallback support
+                .withSockJS()                       // SockJS fallback support
+                .setTaskScheduler(sockJsTaskScheduler())
+                .setHeartbeatTime(properties.getRealtime().getSockJsHeartbeatMs());
     }
 }
\ No newline at end of file
@@ -3,11 +3,13 @@ package com.tasksphere.controller;
 import java.util.List;
 
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tasksphere.dto.activity.ActivityView;
+import com.tasksphere.dto.common.CursorPage;
 import com.tasksphere.service.ActivityService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,4 +25,28 @@ public class ActivityController {
                                    @RequestParam Long entityId) {
         return service.list(entityType, entityId);
     }
+
+    @GetMapping("/feed")
+    public CursorPage<ActivityView> feed(@RequestParam String entityType,
+                                         @RequestParam Long entityId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) String since,
+                                         @RequestParam(defaultValue = "50") int limit) {
+        return service.feed(entityType, entityId, cursor, since, limit);
+    }
+
+    @GetMapping("/project/{projectId}")
+    public CursorPage<ActivityView> project(@PathVariable Long projectId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) String since,
+                                            @RequestParam(defaultValue = "50") int limit) {
+        return service.projectFeed(projectId, cursor, since, limit);
+    }
+
+    @GetMapping("/security")
+    public CursorPage<ActivityView> securityEvents(@RequestParam(defaultValue = "24") int hours,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "50") int limit) {
+        return service.getSecurityEvents(hours, cursor, limit);
+    }
 }
\ No newline at end of file
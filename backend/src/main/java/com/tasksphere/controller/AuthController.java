@@ -14,6 +14,7 @@ import com.tasksphere.dto.auth.AuthResponse;
 import com.tasksphere.dto.auth.LoginRequest;
 import com.tasksphere.dto.auth.SignupRequest;
 import com.tasksphere.dto.auth.UserBasic;
+import com.tasksphere.dto.auth.WsTicketResponse;
 import com.tasksphere.service.AuthService;
 
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,17 @@ public class AuthController {
         return ResponseEntity.ok(authService.refresh(body.get("refreshToken")));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication auth) {
+        authService.logout(auth);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/ws-ticket")
+    public ResponseEntity<WsTicketResponse> wsTicket(Authentication auth) {
+        return ResponseEntity.ok(authService.issueWsTicket(auth));
+    }
+
     @GetMapping("/me")
     public ResponseEntity<UserBasic> me(Authentication auth) {
         return ResponseEntity.ok(authService.getCurrentUser(auth));
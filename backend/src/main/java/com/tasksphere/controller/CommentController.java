@@ -8,10 +8,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tasksphere.dto.comment.CommentView;
 import com.tasksphere.dto.comment.CreateCommentRequest;
+import com.tasksphere.dto.common.CursorPage;
 import com.tasksphere.service.CommentService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,8 +25,18 @@ public class CommentController {
     private final CommentService comments;
 
     @GetMapping
-    public List<CommentView> list(@PathVariable Long issueId) {
-        return comments.list(issueId);
+    public List<CommentView> list(@PathVariable Long issueId, Authentication auth) {
+        return comments.list(issueId, auth);
+    }
+
+    @GetMapping("/page")
+    public CursorPage<CommentView> page(@PathVariable Long issueId,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "older") String direction,
+                                        @RequestParam(required = false) Long sinceId,
+                                        @RequestParam(defaultValue = "50") int limit,
+                                        Authentication auth) {
+        return comments.thread(issueId, cursor, "newer".equalsIgnoreCase(direction), sinceId, limit, auth);
     }
 
     @PostMapping
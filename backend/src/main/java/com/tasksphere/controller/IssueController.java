@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tasksphere.dto.issue.BulkTransitionRequest;
+import com.tasksphere.dto.issue.BulkUpdateResult;
 import com.tasksphere.dto.issue.CreateIssueRequest;
 import com.tasksphere.dto.issue.IssueView;
 import com.tasksphere.service.IssueService;
@@ -26,6 +28,16 @@ public class IssueController {
         return issues.create(req);
     }
 
+    @PostMapping("/bulk")
+    public List<IssueView> createAll(@RequestBody List<CreateIssueRequest> reqs) {
+        return issues.createAll(reqs);
+    }
+
+    @PostMapping("/transition")
+    public BulkUpdateResult transition(@RequestBody BulkTransitionRequest req) {
+        return issues.transition(req);
+    }
+
     @GetMapping
     public List<IssueView> list(@RequestParam Long projectId,
                                 @RequestParam(required = false) String status) {
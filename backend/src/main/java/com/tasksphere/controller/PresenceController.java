@@ -0,0 +1,69 @@
+package com.tasksphere.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.dto.issue.PresenceUpdate;
+import com.tasksphere.dto.issue.PresenceView;
+import com.tasksphere.security.AuthPrincipal;
+import com.tasksphere.service.PresenceService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Issue presence: STOMP heartbeats under /app, plus a REST snapshot for clients that just subscribed
+ * Changes are pushed to /topic/issue.{id} as presence.changed events
+ */
+@RestController
+@RequiredArgsConstructor
+public class PresenceController {
+    private final PresenceService presence;
+
+    @GetMapping("/api/issues/{issueId}/presence")
+    public List<PresenceView> snapshot(@PathVariable Long issueId, Authentication auth) {
+        return presence.snapshot(issueId, auth);
+    }
+
+    /**
+     * Join or heartbeat; send every ttl/3 or so while the issue is open
+     */
+    @MessageMapping("/issues/{issueId}/presence")
+    public void heartbeat(@DestinationVariable Long issueId, @Payload(required = false) PresenceUpdate update,
+                          SimpMessageHeaderAccessor headers) {
+        PresenceService.State state = null;
+        if (update != null && update.getState() != null) {
+            state = PresenceService.State.valueOf(update.getState().toUpperCase());
+        }
+        presence.heartbeat(headers.getSessionId(), principal(headers), issueId, state);
+    }
+
+    @MessageMapping("/issues/{issueId}/typing")
+    public void typing(@DestinationVariable Long issueId, SimpMessageHeaderAccessor headers) {
+        presence.typing(headers.getSessionId(), principal(headers), issueId);
+    }
+
+    @MessageMapping("/issues/{issueId}/leave")
+    public void leave(@DestinationVariable Long issueId, SimpMessageHeaderAccessor headers) {
+        presence.leave(headers.getSessionId(), issueId);
+    }
+
+    // Set by WebSocketAuthInterceptor at handshake
+    private static AuthPrincipal principal(SimpMessageHeaderAccessor headers) {
+        Map<String, Object> attributes = headers.getSessionAttributes();
+        Object user = attributes != null ? attributes.get("user") : null;
+        if (!(user instanceof AuthPrincipal)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        return (AuthPrincipal) user;
+    }
+}
@@ -3,15 +3,23 @@ package com.tasksphere.controller;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tasksphere.dto.common.CursorPage;
+import com.tasksphere.dto.issue.IssueCountsView;
+import com.tasksphere.dto.project.AddMemberRequest;
 import com.tasksphere.dto.project.CreateProjectRequest;
+import com.tasksphere.dto.project.MemberView;
 import com.tasksphere.dto.project.ProjectView;
+import com.tasksphere.service.IssueCounterService;
 import com.tasksphere.service.ProjectService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProjectController {
     private final ProjectService service;
+    private final IssueCounterService counters;
 
     @PostMapping
     public ResponseEntity<ProjectView> create(@RequestBody CreateProjectRequest req) {
@@ -32,6 +41,35 @@ public class ProjectController {
         return service.list();
     }
 
+    @GetMapping("/mine")
+    public CursorPage<ProjectView> mine(Authentication auth,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "50") int limit) {
+        return service.mine(auth, cursor, limit);
+    }
+
+    @GetMapping("/{id}/issue-counts")
+    public IssueCountsView issueCounts(@PathVariable Long id,
+                                       @RequestParam(required = false) Long sprintId) {
+        return counters.counts(id, sprintId);
+    }
+
+    @GetMapping("/{id}/members")
+    public List<MemberView> members(@PathVariable Long id) {
+        return service.members(id);
+    }
+
+    @PostMapping("/{id}/members")
+    public MemberView addMember(@PathVariable Long id, @RequestBody AddMemberRequest req) {
+        return service.addMember(id, req);
+    }
+
+    @DeleteMapping("/{id}/members/{userId}")
+    public ResponseEntity<Void> removeMember(@PathVariable Long id, @PathVariable Long userId) {
+        service.removeMember(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProjectView> one(@PathVariable Long id) {
         return service.findById(id)
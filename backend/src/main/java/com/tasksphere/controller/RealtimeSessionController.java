@@ -0,0 +1,40 @@
+package com.tasksphere.controller;
+
+import java.util.Map;
+
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Controller;
+
+import com.tasksphere.config.AppProperties;
+import com.tasksphere.dto.auth.ResumeTokenResponse;
+import com.tasksphere.security.AuthPrincipal;
+import com.tasksphere.security.JwtTokenUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * STOMP session housekeeping under /app
+ */
+@Controller
+@RequiredArgsConstructor
+public class RealtimeSessionController {
+    private final JwtTokenUtil jwt;
+    private final AppProperties properties;
+
+    /**
+     * Resume token for this session, answered once per SUBSCRIBE. Pass it as ?resume= when
+     * reconnecting to be admitted ahead of new connections; subscribe again every ttl/2 or so
+     */
+    @SubscribeMapping("/session/resume-token")
+    public ResumeTokenResponse resumeToken(SimpMessageHeaderAccessor headers) {
+        Map<String, Object> attributes = headers.getSessionAttributes();
+        Object user = attributes != null ? attributes.get("user") : null;
+        if (!(user instanceof AuthPrincipal principal)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        long ttlMs = properties.getRealtime().getResumeTokenTtlMs();
+        return new ResumeTokenResponse(jwt.generateResumeToken(principal.getId(), ttlMs), ttlMs / 1000);
+    }
+}
@@ -0,0 +1,44 @@
+package com.tasksphere.controller;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.dto.common.CursorPage;
+import com.tasksphere.dto.issue.IssueSearchHit;
+import com.tasksphere.dto.search.TypeaheadItem;
+import com.tasksphere.service.IssueSearchService;
+import com.tasksphere.service.TypeaheadService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+    private final IssueSearchService service;
+    private final TypeaheadService typeahead;
+
+    @GetMapping("/issues")
+    public CursorPage<IssueSearchHit> issues(@RequestParam Long projectId,
+                                             @RequestParam String q,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        return service.search(projectId, q, cursor, limit);
+    }
+
+    /**
+     * Keystroke suggestions; types is a comma-separated subset of users,projects,issues
+     */
+    @GetMapping("/typeahead")
+    public List<TypeaheadItem> typeahead(@RequestParam String q,
+                                         @RequestParam(defaultValue = "users,projects,issues") Set<String> types,
+                                         @RequestParam(required = false) Long projectId,
+                                         @RequestParam(defaultValue = "8") int limit) {
+        return typeahead.suggest(q, types, projectId, limit);
+    }
+}
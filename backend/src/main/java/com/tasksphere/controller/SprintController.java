@@ -5,10 +5,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tasksphere.dto.issue.BulkUpdateResult;
+import com.tasksphere.dto.sprint.CloseSprintRequest;
 import com.tasksphere.dto.sprint.CreateSprintRequest;
+import com.tasksphere.dto.sprint.SprintReportView;
 import com.tasksphere.dto.sprint.SprintView;
+import com.tasksphere.dto.sprint.VelocityView;
+import com.tasksphere.service.SprintAnalyticsService;
 import com.tasksphere.service.SprintService;
 
 import lombok.RequiredArgsConstructor;
@@ -18,12 +24,30 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SprintController {
     private final SprintService sprints;
+    private final SprintAnalyticsService analytics;
 
     @PostMapping
     public SprintView create(@PathVariable Long projectId, @RequestBody CreateSprintRequest req) {
         return sprints.create(projectId, req);
     }
 
+    @PostMapping("/{sprintId}/close")
+    public BulkUpdateResult close(@PathVariable Long projectId, @PathVariable Long sprintId,
+                                  @RequestBody(required = false) CloseSprintRequest req) {
+        return sprints.close(projectId, sprintId, req);
+    }
+
+    @GetMapping("/{sprintId}/report")
+    public SprintReportView report(@PathVariable Long projectId, @PathVariable Long sprintId) {
+        return analytics.report(projectId, sprintId);
+    }
+
+    @GetMapping("/velocity")
+    public VelocityView velocity(@PathVariable Long projectId,
+                                 @RequestParam(defaultValue = "5") int sprints) {
+        return analytics.velocity(projectId, sprints);
+    }
+
     @GetMapping("/active")
     public SprintView active(@PathVariable Long projectId) {
         return sprints.getActive(projectId);
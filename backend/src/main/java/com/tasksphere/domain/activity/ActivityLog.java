@@ -27,11 +27,14 @@ public class ActivityLog {
     @Column(name = "entity_type", nullable = false, length = 32)
     private String entityType;
 
-    @Column(name = "entity_id", nullable = false)
+    @Column(name = "entity_id")
     private Long entityId;
 
+    @Column(name = "project_id")
+    private Long projectId;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "actor_id", nullable = false)
+    @JoinColumn(name = "actor_id")
     private User actor;
 
     @Column(name = "action", nullable = false, length = 64)
@@ -43,6 +46,9 @@ public class ActivityLog {
     @Column(name = "to_value", columnDefinition = "JSON")
     private String toValue;
 
+    @Column(name = "is_security", nullable = false)
+    private boolean security;
+
     @Column(name = "created_at", nullable = false, updatable = false, insertable = false)
     private Timestamp createdAt;
 }
\ No newline at end of file
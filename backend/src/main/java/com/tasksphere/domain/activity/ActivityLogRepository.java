@@ -1,12 +1,68 @@
 package com.tasksphere.domain.activity;
 
+import java.sql.Timestamp;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tasksphere.dto.activity.ActivityView;
+
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
-    List<ActivityLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(String entityType, Long entityId);
+
+    String VIEW_SELECT = "SELECT new com.tasksphere.dto.activity.ActivityView(a.id, a.entityType, a.entityId, " +
+            "COALESCE(u.name, 'System'), a.action, a.fromValue, a.toValue, a.createdAt) " +
+            "FROM ActivityLog a LEFT JOIN a.actor u ";
+
     List<ActivityLog> findByEntityTypeOrderByCreatedAtDesc(String entityType);
-}
\ No newline at end of file
+
+    /**
+     * Activity of one entity strictly between (sinceAt, sinceId) and (beforeAt, beforeId), newest first
+     * Served by ix_al_entity (entity_type, entity_id, created_at, id)
+     */
+    @Query(VIEW_SELECT +
+           "WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+           "AND a.createdAt <= :beforeAt AND (a.createdAt < :beforeAt OR a.id < :beforeId) " +
+           "AND a.createdAt >= :sinceAt AND (a.createdAt > :sinceAt OR a.id > :sinceId) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityView> findEntityFeed(@Param("entityType") String entityType,
+                                      @Param("entityId") Long entityId,
+                                      @Param("beforeAt") Timestamp beforeAt,
+                                      @Param("beforeId") Long beforeId,
+                                      @Param("sinceAt") Timestamp sinceAt,
+                                      @Param("sinceId") Long sinceId,
+                                      Limit limit);
+
+    /**
+     * Security events newer than since, keyset-paginated from (beforeAt, beforeId)
+     * Served by ix_al_security (is_security, created_at, id)
+     */
+    @Query(VIEW_SELECT +
+           "WHERE a.security = true AND a.createdAt >= :since AND a.createdAt <= :beforeAt " +
+           "AND (a.createdAt < :beforeAt OR a.id < :beforeId) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityView> findSecurityEvents(@Param("since") Timestamp since,
+                                          @Param("beforeAt") Timestamp beforeAt,
+                                          @Param("beforeId") Long beforeId,
+                                          Limit limit);
+
+    /**
+     * Activity of every entity in a project, same bounds as {@link #findEntityFeed}
+     * Served by ix_al_project (project_id, created_at, id)
+     */
+    @Query(VIEW_SELECT +
+           "WHERE a.projectId = :projectId " +
+           "AND a.createdAt <= :beforeAt AND (a.createdAt < :beforeAt OR a.id < :beforeId) " +
+           "AND a.createdAt >= :sinceAt AND (a.createdAt > :sinceAt OR a.id > :sinceId) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityView> findProjectFeed(@Param("projectId") Long projectId,
+                                       @Param("beforeAt") Timestamp beforeAt,
+                                       @Param("beforeId") Long beforeId,
+                                       @Param("sinceAt") Timestamp sinceAt,
+                                       @Param("sinceId") Long sinceId,
+                                       Limit limit);
+}
@@ -0,0 +1,33 @@
+package com.tasksphere.domain.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable activity_log row waiting in the audit queue
+ * Actor and entity are plain IDs so enqueueing never touches the database.
+ * There is no timestamp: created_at is stamped when the row is written.
+ */
+@Getter
+@AllArgsConstructor
+public class AuditRecord {
+    private final String entityType;
+    private final Long entityId;
+
+    /**
+     * Owning project, set for project activity so it shows in the project stream
+     */
+    private final Long projectId;
+
+    private final Long actorId;
+
+    /**
+     * Display name for the realtime tail only, not persisted
+     */
+    private final String actorName;
+
+    private final String action;
+    private final String fromValue;
+    private final String toValue;
+    private final boolean security;
+}
@@ -36,6 +36,10 @@ public class Comment {
     @Column(name = "text", nullable = false, columnDefinition = "TEXT")
     private String text;
 
-    @Column(name = "created_at", nullable = false, updatable = false, insertable = false)
+    /**
+     * Set by the application in whole seconds (the column's precision), so the saved
+     * entity already holds the stored value without a refresh
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
     private Timestamp createdAt;
 }
\ No newline at end of file
@@ -1,11 +1,55 @@
 package com.tasksphere.domain.comment;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tasksphere.dto.comment.CommentView;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByIssueIdOrderByCreatedAtAsc(Long issueId);
-}
\ No newline at end of file
+
+    String VIEW_SELECT = "SELECT new com.tasksphere.dto.comment.CommentView(c.id, u.name, c.text, c.createdAt) " +
+            "FROM Comment c JOIN c.author u ";
+
+    @Query("SELECT c.issue.project.id FROM Comment c WHERE c.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE c.issue.id = :issueId ORDER BY c.createdAt, c.id")
+    List<CommentView> findViewsByIssueId(@Param("issueId") Long issueId);
+
+    /**
+     * Comments of an issue before (beforeAt, beforeId) with id above sinceId, newest first
+     * Served by ix_comment_issue_created (issue_id, created_at, id)
+     */
+    @Query(VIEW_SELECT +
+           "WHERE c.issue.id = :issueId " +
+           "AND c.createdAt <= :beforeAt AND (c.createdAt < :beforeAt OR c.id < :beforeId) " +
+           "AND c.id > :sinceId " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findOlder(@Param("issueId") Long issueId,
+                                @Param("beforeAt") Timestamp beforeAt,
+                                @Param("beforeId") Long beforeId,
+                                @Param("sinceId") Long sinceId,
+                                Limit limit);
+
+    /**
+     * Comments of an issue after (afterAt, afterId) with id above sinceId, oldest first
+     */
+    @Query(VIEW_SELECT +
+           "WHERE c.issue.id = :issueId " +
+           "AND c.createdAt >= :afterAt AND (c.createdAt > :afterAt OR c.id > :afterId) " +
+           "AND c.id > :sinceId " +
+           "ORDER BY c.createdAt, c.id")
+    List<CommentView> findNewer(@Param("issueId") Long issueId,
+                                @Param("afterAt") Timestamp afterAt,
+                                @Param("afterId") Long afterId,
+                                @Param("sinceId") Long sinceId,
+                                Limit limit);
+}
@@ -15,6 +15,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -22,8 +23,12 @@ import lombok.Setter;
 @Table(name="issues")
 @Getter @Setter
 public class Issue {
-    @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled table allocator instead of IDENTITY so inserts can be JDBC-batched;
+    // one id_sequences round trip hands out 50 ids
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "issue_ids")
+    @TableGenerator(name = "issue_ids", table = "id_sequences", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "issues", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch=FetchType.LAZY, optional=false)
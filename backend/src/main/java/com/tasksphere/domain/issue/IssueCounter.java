@@ -0,0 +1,54 @@
+package com.tasksphere.domain.issue;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Row of the issue_counters table
+ * Reads and writes go through {@link IssueCounterRepository} with plain JDBC;
+ * the mapping keeps the table known to schema validation and dev schemas
+ */
+@Entity
+@Table(name = "issue_counters")
+@IdClass(IssueCounter.Key.class)
+@Getter @Setter
+public class IssueCounter {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "sprint_id")
+    private Long sprintId; // 0 = backlog
+
+    @Id
+    @Column(name = "status", length = 20)
+    private String status;
+
+    @Id
+    @Column(name = "assignee_id")
+    private Long assigneeId; // 0 = unassigned
+
+    @Column(name = "issue_count", nullable = false)
+    private Integer issueCount;
+
+    @Column(name = "story_points", nullable = false)
+    private Integer storyPoints;
+
+    @Getter @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long projectId;
+        private Long sprintId;
+        private String status;
+        private Long assigneeId;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tasksphere.domain.issue;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Net changes to issue_counters collected during one operation, so a bulk
+ * change touching many issues becomes one upsert per affected counter row
+ */
+public class IssueCounterDeltas {
+
+    private final Map<Key, long[]> deltas = new LinkedHashMap<>();
+
+    /**
+     * Count an issue in (+1) or out of (-1) a counter row
+     */
+    public IssueCounterDeltas add(Long projectId, Long sprintId, String status, Long assigneeId,
+                                  Integer storyPoints, int sign) {
+        long[] d = deltas.computeIfAbsent(new Key(projectId, orZero(sprintId), status, orZero(assigneeId)),
+                k -> new long[2]);
+        d[0] += sign;
+        d[1] += (long) sign * (storyPoints != null ? storyPoints : 0);
+        return this;
+    }
+
+    /**
+     * Move an issue from one counter row to another
+     */
+    public IssueCounterDeltas move(Long projectId, Integer storyPoints,
+                                   Long fromSprintId, String fromStatus, Long fromAssigneeId,
+                                   Long toSprintId, String toStatus, Long toAssigneeId) {
+        add(projectId, fromSprintId, fromStatus, fromAssigneeId, storyPoints, -1);
+        return add(projectId, toSprintId, toStatus, toAssigneeId, storyPoints, 1);
+    }
+
+    /**
+     * Sprints touched by these deltas, excluding the backlog
+     */
+    public Set<Long> sprintIds() {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Key k : deltas.keySet()) {
+            if (k.sprintId() != 0) {
+                ids.add(k.sprintId());
+            }
+        }
+        return ids;
+    }
+
+    public boolean isEmpty() {
+        return deltas.values().stream().allMatch(d -> d[0] == 0 && d[1] == 0);
+    }
+
+    Map<Key, long[]> entries() {
+        return deltas;
+    }
+
+    private static long orZero(Long id) {
+        return id != null ? id : 0L;
+    }
+
+    record Key(long projectId, long sprintId, String status, long assigneeId) {
+    }
+}
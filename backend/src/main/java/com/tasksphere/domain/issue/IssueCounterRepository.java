@@ -0,0 +1,87 @@
+package com.tasksphere.domain.issue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC access to the issue_counters table
+ * Upserts are commutative increments, so concurrent writers never lose updates
+ */
+@Repository
+@RequiredArgsConstructor
+public class IssueCounterRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO issue_counters (project_id, sprint_id, status, assignee_id, issue_count, story_points) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE issue_count = issue_count + VALUES(issue_count), " +
+            "story_points = story_points + VALUES(story_points)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO issue_counters (project_id, sprint_id, status, assignee_id, issue_count, story_points) " +
+            "SELECT project_id, COALESCE(sprint_id, 0), status, COALESCE(assignee_id, 0), COUNT(*), " +
+            "COALESCE(SUM(story_points), 0) FROM issues WHERE project_id = ? " +
+            "GROUP BY project_id, COALESCE(sprint_id, 0), status, COALESCE(assignee_id, 0)";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Apply collected deltas in one JDBC batch, within the caller's transaction
+     */
+    public void apply(IssueCounterDeltas deltas) {
+        List<Object[]> args = new ArrayList<>();
+        for (Map.Entry<IssueCounterDeltas.Key, long[]> e : deltas.entries().entrySet()) {
+            long[] d = e.getValue();
+            if (d[0] == 0 && d[1] == 0) {
+                continue;
+            }
+            IssueCounterDeltas.Key k = e.getKey();
+            args.add(new Object[] { k.projectId(), k.sprintId(), k.status(), k.assigneeId(), d[0], d[1] });
+        }
+        if (!args.isEmpty()) {
+            jdbc.batchUpdate(UPSERT_SQL, args);
+        }
+    }
+
+    /**
+     * @param sprintId Sprint to restrict to, 0 for the backlog, or null for the whole project
+     */
+    public List<Row> findByProject(Long projectId, Long sprintId) {
+        String sql = "SELECT sprint_id, status, assignee_id, issue_count, story_points FROM issue_counters " +
+                "WHERE project_id = ?" + (sprintId != null ? " AND sprint_id = ?" : "") + " AND issue_count <> 0";
+        Object[] params = sprintId != null ? new Object[] { projectId, sprintId } : new Object[] { projectId };
+        return jdbc.query(sql, (rs, n) -> new Row(rs.getLong(1), rs.getString(2), rs.getLong(3),
+                rs.getLong(4), rs.getLong(5)), params);
+    }
+
+    /**
+     * Recompute a project's counters from issues; call inside a transaction
+     * @return number of counter rows written
+     */
+    public int rebuildProject(Long projectId) {
+        jdbc.update("DELETE FROM issue_counters WHERE project_id = ?", projectId);
+        return jdbc.update(REBUILD_SQL, projectId);
+    }
+
+    public List<Long> findProjectIds() {
+        return jdbc.queryForList("SELECT id FROM projects", Long.class);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Row {
+        private final long sprintId;
+        private final String status;
+        private final long assigneeId;
+        private final long issueCount;
+        private final long storyPoints;
+    }
+}
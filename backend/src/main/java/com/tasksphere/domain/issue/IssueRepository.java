@@ -1,12 +1,17 @@
 package com.tasksphere.domain.issue;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tasksphere.domain.sprint.Sprint;
+
 @Repository
 public interface IssueRepository extends JpaRepository<Issue, Long> {
     List<Issue> findByProjectIdAndStatus(Long projectId, String status);
@@ -16,4 +21,41 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     
     @Query("SELECT i FROM Issue i WHERE i.project.id = :projectId AND (:status IS NULL OR i.status = :status)")
     List<Issue> findByProjectIdAndStatusOptional(@Param("projectId") Long projectId, @Param("status") String status);
-}
\ No newline at end of file
+
+    @Query("SELECT i.project.id FROM Issue i WHERE i.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    /**
+     * Lightweight rows for bulk operations, no entity hydration
+     * Locked FOR UPDATE so counter deltas derived from them cannot be applied twice by
+     * concurrent bulk changes; must run inside a transaction
+     */
+    @Query(value = "SELECT id AS id, project_id AS projectId, sprint_id AS sprintId, status AS status, " +
+                   "assignee_id AS assigneeId, story_points AS storyPoints " +
+                   "FROM issues WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<IssueRef> lockRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT id AS id, project_id AS projectId, sprint_id AS sprintId, status AS status, " +
+                   "assignee_id AS assigneeId, story_points AS storyPoints " +
+                   "FROM issues WHERE sprint_id = :sprintId AND status <> 'DONE' ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<IssueRef> lockUnfinishedRefsBySprintId(@Param("sprintId") Long sprintId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.status = :status WHERE i.id IN :ids AND i.status <> :status")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.sprint = :target WHERE i.id IN :ids")
+    int moveToSprint(@Param("ids") Collection<Long> ids, @Param("target") Sprint target);
+
+    interface IssueRef {
+        Long getId();
+        Long getProjectId();
+        Long getSprintId();
+        String getStatus();
+        Long getAssigneeId();
+        Integer getStoryPoints();
+    }
+}
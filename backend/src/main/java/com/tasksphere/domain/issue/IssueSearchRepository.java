@@ -0,0 +1,121 @@
+package com.tasksphere.domain.issue;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC access to the issue_search full-text table
+ *
+ * Documents are rebuilt from issues and comments by id, so indexing the same
+ * issue twice is harmless. Queries rank with MySQL natural-language FULLTEXT
+ * matching, summary hits weighted double, and page on (score, issue_id).
+ */
+@Repository
+@RequiredArgsConstructor
+public class IssueSearchRepository {
+
+    // Comments are concatenated per issue; the session group_concat_max_len is raised first
+    private static final String UPSERT_SQL =
+            "INSERT INTO issue_search (issue_id, project_id, summary, description, comments) " +
+            "SELECT i.id, i.project_id, i.summary, i.description, " +
+            "(SELECT GROUP_CONCAT(c.text ORDER BY c.id SEPARATOR '\\n') FROM comments c WHERE c.issue_id = i.id) " +
+            "FROM issues i WHERE %s " +
+            "ON DUPLICATE KEY UPDATE project_id = VALUES(project_id), summary = VALUES(summary), " +
+            "description = VALUES(description), comments = VALUES(comments)";
+
+    private static final String SCORE =
+            "(MATCH(summary) AGAINST (:q IN NATURAL LANGUAGE MODE) * 2 + " +
+            "MATCH(summary, description, comments) AGAINST (:q IN NATURAL LANGUAGE MODE))";
+
+    private static final String SEARCH_SQL =
+            "SELECT * FROM (SELECT issue_id, project_id, summary, description, comments, " + SCORE + " AS score " +
+            "FROM issue_search WHERE project_id = :projectId " +
+            "AND MATCH(summary, description, comments) AGAINST (:q IN NATURAL LANGUAGE MODE)) hits " +
+            "WHERE score < :beforeScore OR (score = :beforeScore AND issue_id < :beforeId) " +
+            "ORDER BY score DESC, issue_id DESC LIMIT :limit";
+
+    static final long MAX_COMMENTS_LENGTH = 1 << 20;
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+
+    /**
+     * (Re)build the documents of the given issues; run inside a transaction so the
+     * session setting and the upsert share a connection
+     */
+    public int index(Collection<Long> issueIds) {
+        if (issueIds.isEmpty()) {
+            return 0;
+        }
+        jdbc.execute("SET SESSION group_concat_max_len = " + MAX_COMMENTS_LENGTH);
+        return named.update(String.format(UPSERT_SQL, "i.id IN (:ids)"), new MapSqlParameterSource("ids", issueIds));
+    }
+
+    /**
+     * IDs of up to limit issues above afterId that have no search document yet
+     */
+    public List<Long> findUnindexed(long afterId, int limit) {
+        return jdbc.queryForList(
+                "SELECT i.id FROM issues i LEFT JOIN issue_search s ON s.issue_id = i.id " +
+                "WHERE i.id > ? AND s.issue_id IS NULL ORDER BY i.id LIMIT ?",
+                Long.class, afterId, limit);
+    }
+
+    public List<Hit> search(Long projectId, String query, double beforeScore, long beforeId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("q", query)
+                .addValue("beforeScore", beforeScore)
+                .addValue("beforeId", beforeId)
+                .addValue("limit", limit);
+        return named.query(SEARCH_SQL, params, (rs, n) -> new Hit(rs.getLong("issue_id"), rs.getLong("project_id"),
+                rs.getString("summary"), rs.getString("description"), rs.getString("comments"),
+                rs.getDouble("score")));
+    }
+
+    public ConsumerOffset lockOffset(String consumer) {
+        List<ConsumerOffset> rows = jdbc.query(
+                "SELECT last_event_id, pending_ids FROM outbox_consumer_offsets WHERE consumer = ? FOR UPDATE",
+                (rs, n) -> new ConsumerOffset(rs.getLong("last_event_id"), rs.getString("pending_ids")), consumer);
+        if (rows.isEmpty()) {
+            jdbc.update("INSERT IGNORE INTO outbox_consumer_offsets (consumer, last_event_id) VALUES (?, 0)", consumer);
+            return new ConsumerOffset(0L, null);
+        }
+        return rows.get(0);
+    }
+
+    public void saveOffset(String consumer, long lastEventId, String pendingIds) {
+        jdbc.update("UPDATE outbox_consumer_offsets SET last_event_id = ?, pending_ids = ? WHERE consumer = ?",
+                lastEventId, pendingIds, consumer);
+    }
+
+    /**
+     * Outbox position: the highest id read, and the ids below it not yet seen committed
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ConsumerOffset {
+        private final long lastEventId;
+        private final String pendingIds;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final long issueId;
+        private final long projectId;
+        private final String summary;
+        private final String description;
+        private final String comments;
+        private final double score;
+    }
+}
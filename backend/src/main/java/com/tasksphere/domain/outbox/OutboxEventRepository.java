@@ -1,8 +1,12 @@
 package com.tasksphere.domain.outbox;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -17,4 +21,23 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
      * Count unpublished events for monitoring
      */
     long countByPublishedFalse();
+
+    /**
+     * Committed ids above afterId, of any type, for consumers that track their own position by id
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Which of the given ids have been committed since they were last looked for
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.id IN :ids")
+    List<Long> findIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id IN :ids AND e.type IN :types ORDER BY e.id")
+    List<OutboxEvent> findByIdInAndTypeIn(@Param("ids") Collection<Long> ids,
+                                          @Param("types") Collection<String> types);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findMaxId();
 }
\ No newline at end of file
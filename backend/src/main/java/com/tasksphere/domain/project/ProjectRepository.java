@@ -1,11 +1,32 @@
 package com.tasksphere.domain.project;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tasksphere.dto.project.ProjectView;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     Optional<Project> findByKey(String key);
-}
\ No newline at end of file
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Projects a user owns or is a team member of (every project when everyProject is true),
+     * ordered by key, starting after the given key
+     */
+    @Query("SELECT new com.tasksphere.dto.project.ProjectView(p.id, p.key, p.name, p.description, o.name) " +
+           "FROM Project p JOIN p.owner o " +
+           "WHERE p.key > :afterKey AND (:everyProject = true OR o.id = :userId OR EXISTS " +
+           "(SELECT 1 FROM TeamMember tm WHERE tm.project = p AND tm.user.id = :userId)) " +
+           "ORDER BY p.key")
+    List<ProjectView> findVisible(@Param("userId") Long userId,
+                                  @Param("everyProject") boolean everyProject,
+                                  @Param("afterKey") String afterKey,
+                                  Limit limit);
+}
@@ -0,0 +1,38 @@
+package com.tasksphere.domain.project;
+
+import com.tasksphere.domain.user.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Project-scoped role of a user; roles rows are referenced by id
+ */
+@Entity
+@Table(name="team_members")
+@Getter @Setter
+public class TeamMember {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch=FetchType.LAZY, optional=false)
+    @JoinColumn(name="project_id", nullable=false)
+    private Project project;
+
+    @ManyToOne(fetch=FetchType.LAZY, optional=false)
+    @JoinColumn(name="user_id", nullable=false)
+    private User user;
+
+    @Column(name="role_id", nullable=false)
+    private Long roleId;
+}
@@ -0,0 +1,57 @@
+package com.tasksphere.domain.project;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
+
+    Optional<TeamMember> findByProjectIdAndUserId(Long projectId, Long userId);
+
+    /**
+     * Every project a user can see: team roles plus OWNER for owned projects
+     * A user who is both owner and member gets two rows
+     */
+    @Query(value = "SELECT tm.project_id AS projectId, r.name AS role FROM team_members tm " +
+                   "JOIN roles r ON r.id = tm.role_id WHERE tm.user_id = :userId " +
+                   "UNION ALL SELECT p.id AS projectId, 'OWNER' AS role FROM projects p WHERE p.owner_id = :userId",
+           nativeQuery = true)
+    List<AclEntry> findAcl(@Param("userId") Long userId);
+
+    @Query(value = "SELECT tm.user_id AS userId, u.name AS name, u.email AS email, r.name AS role " +
+                   "FROM team_members tm JOIN users u ON u.id = tm.user_id JOIN roles r ON r.id = tm.role_id " +
+                   "WHERE tm.project_id = :projectId ORDER BY u.name",
+           nativeQuery = true)
+    List<MemberRow> findMembers(@Param("projectId") Long projectId);
+
+    @Query("SELECT tm.user.id FROM TeamMember tm WHERE tm.project.id = :projectId")
+    List<Long> findUserIdsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * fk_tm_project has no ON DELETE CASCADE; call before deleting the project
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TeamMember tm WHERE tm.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT id FROM roles WHERE name = :name", nativeQuery = true)
+    Optional<Long> findRoleId(@Param("name") String name);
+
+    interface AclEntry {
+        Long getProjectId();
+        String getRole();
+    }
+
+    interface MemberRow {
+        Long getUserId();
+        String getName();
+        String getEmail();
+        String getRole();
+    }
+}
@@ -1,11 +1,17 @@
 package com.tasksphere.domain.sprint;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SprintRepository extends JpaRepository<Sprint, Long> {
     List<Sprint> findByProjectIdAndState(Long projectId, String state);
-}
\ No newline at end of file
+
+    @Query("SELECT s.project.id FROM Sprint s WHERE s.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+}
@@ -0,0 +1,54 @@
+package com.tasksphere.domain.sprint;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Row of the sprint_snapshots table
+ * Reads and writes go through {@link SprintSnapshotRepository} with plain JDBC;
+ * the mapping keeps the table known to schema validation and dev schemas
+ */
+@Entity
+@Table(name = "sprint_snapshots")
+@IdClass(SprintSnapshot.Key.class)
+@Getter @Setter
+public class SprintSnapshot {
+    @Id
+    @Column(name = "sprint_id")
+    private Long sprintId;
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "total_issues", nullable = false)
+    private Integer totalIssues;
+
+    @Column(name = "done_issues", nullable = false)
+    private Integer doneIssues;
+
+    @Column(name = "total_points", nullable = false)
+    private Integer totalPoints;
+
+    @Column(name = "done_points", nullable = false)
+    private Integer donePoints;
+
+    @Getter @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long sprintId;
+        private LocalDate snapshotDate;
+    }
+}
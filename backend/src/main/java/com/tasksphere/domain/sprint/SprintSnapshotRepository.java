@@ -0,0 +1,96 @@
+package com.tasksphere.domain.sprint;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.tasksphere.dto.sprint.SprintReportPoint;
+import com.tasksphere.dto.sprint.SprintVelocity;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC access to sprint_snapshots
+ * Snapshots are derived from issue_counters, never from issues
+ */
+@Repository
+@RequiredArgsConstructor
+public class SprintSnapshotRepository {
+
+    private static final String CAPTURE_SQL =
+            "INSERT INTO sprint_snapshots (sprint_id, snapshot_date, project_id, total_issues, done_issues, " +
+            "total_points, done_points) " +
+            "SELECT c.sprint_id, CURRENT_DATE, c.project_id, SUM(c.issue_count), " +
+            "SUM(CASE WHEN c.status = 'DONE' THEN c.issue_count ELSE 0 END), SUM(c.story_points), " +
+            "SUM(CASE WHEN c.status = 'DONE' THEN c.story_points ELSE 0 END) " +
+            "FROM issue_counters c WHERE %s GROUP BY c.sprint_id, c.project_id " +
+            "ON DUPLICATE KEY UPDATE total_issues = VALUES(total_issues), done_issues = VALUES(done_issues), " +
+            "total_points = VALUES(total_points), done_points = VALUES(done_points)";
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+
+    /**
+     * Upsert today's snapshot of the given sprints from their current counters
+     */
+    public void capture(Collection<Long> sprintIds) {
+        if (sprintIds.isEmpty()) {
+            return;
+        }
+        named.update(String.format(CAPTURE_SQL, "c.sprint_id IN (:ids)"),
+                new MapSqlParameterSource("ids", sprintIds));
+    }
+
+    /**
+     * Upsert today's snapshot of every active sprint
+     * @return IDs of the sprints captured
+     */
+    public List<Long> captureActive() {
+        List<Long> ids = jdbc.queryForList("SELECT id FROM sprints WHERE state = 'ACTIVE'", Long.class);
+        capture(ids);
+        return ids;
+    }
+
+    public List<SprintReportPoint> findSeries(Long sprintId) {
+        return jdbc.query(
+                "SELECT snapshot_date, total_issues, done_issues, total_points, done_points FROM sprint_snapshots " +
+                "WHERE sprint_id = ? ORDER BY snapshot_date",
+                (rs, n) -> {
+                    long totalIssues = rs.getLong(2);
+                    long doneIssues = rs.getLong(3);
+                    long totalPoints = rs.getLong(4);
+                    long donePoints = rs.getLong(5);
+                    return new SprintReportPoint(rs.getDate(1).toLocalDate().toString(),
+                            totalIssues, doneIssues, totalIssues - doneIssues,
+                            totalPoints, donePoints, totalPoints - donePoints, null);
+                },
+                sprintId);
+    }
+
+    /**
+     * Completed work of a project's most recent closed sprints, from each sprint's last snapshot
+     */
+    public List<SprintVelocity> findClosedVelocity(Long projectId, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        return jdbc.query(
+                "SELECT s.id, s.name, s.end_date, ss.done_issues, ss.done_points FROM sprints s " +
+                "JOIN sprint_snapshots ss ON ss.sprint_id = s.id AND ss.snapshot_date = " +
+                "(SELECT MAX(x.snapshot_date) FROM sprint_snapshots x WHERE x.sprint_id = s.id) " +
+                "WHERE s.project_id = ? AND s.state = 'CLOSED' " +
+                "ORDER BY s.end_date DESC, s.id DESC LIMIT ?",
+                (rs, n) -> {
+                    Date end = rs.getDate(3);
+                    return new SprintVelocity(rs.getLong(1), rs.getString(2),
+                            end != null ? end.toLocalDate().toString() : null, rs.getLong(4), rs.getLong(5));
+                },
+                projectId, limit);
+    }
+}
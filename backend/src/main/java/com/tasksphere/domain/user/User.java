@@ -31,6 +31,9 @@ public class User {
     @Column(name="is_active", nullable=false)
     private Boolean isActive = true;
 
+    @Column(name="token_version", nullable=false)
+    private Integer tokenVersion = 0;
+
     @Column(name="created_at", updatable=false, insertable=false)
     private Timestamp createdAt;
 
@@ -1,11 +1,33 @@
 package com.tasksphere.domain.user;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = :userId",
+           nativeQuery = true)
+    List<String> findRoleNames(@Param("userId") Long userId);
+
+    @Query(value = "SELECT tm.project_id AS projectId, r.name AS role FROM team_members tm " +
+                   "JOIN roles r ON r.id = tm.role_id WHERE tm.user_id = :userId",
+           nativeQuery = true)
+    List<ProjectRole> findProjectRoles(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :userId")
+    int incrementTokenVersion(@Param("userId") Long userId);
+
+    interface ProjectRole {
+        Long getProjectId();
+        String getRole();
+    }
+}
@@ -0,0 +1,13 @@
+package com.tasksphere.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WsTicketResponse {
+    private String ticket;
+    private long expiresIn; // seconds
+}
@@ -0,0 +1,21 @@
+package com.tasksphere.dto.common;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated list, newest first
+ * nextCursor is null on the last page. headCursor marks the newest item and can
+ * be passed back as "since" to poll for newer entries.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private String headCursor;
+}
@@ -0,0 +1,62 @@
+package com.tasksphere.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position in a list ordered by (created_at DESC, id DESC), passed to clients
+ * as an opaque URL-safe string
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    /**
+     * Cursor positioned before every row, used for the first page
+     */
+    public static final KeysetCursor START = new KeysetCursor(Timestamp.valueOf("9999-12-31 23:59:59"), Long.MAX_VALUE);
+
+    /**
+     * Cursor positioned after every row, used when no lower bound is given
+     */
+    public static final KeysetCursor ORIGIN = new KeysetCursor(Timestamp.valueOf("1970-01-01 00:00:00"), 0L);
+
+    private final Timestamp createdAt;
+    private final Long id;
+
+    public String encode() {
+        String raw = createdAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor Cursor from a previous page, or null/blank for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        return decode(cursor, START);
+    }
+
+    /**
+     * @param cursor Encoded cursor, or null/blank
+     * @param whenBlank Returned when no cursor is given
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor, KeysetCursor whenBlank) {
+        if (cursor == null || cursor.isBlank()) {
+            return whenBlank;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new KeysetCursor(new Timestamp(Long.parseLong(raw.substring(0, sep))),
+                    Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
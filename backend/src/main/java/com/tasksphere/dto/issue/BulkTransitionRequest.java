@@ -0,0 +1,11 @@
+package com.tasksphere.dto.issue;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkTransitionRequest {
+    private List<Long> issueIds;
+    private String status; // BACKLOG|TODO|IN_PROGRESS|QA_READY|DONE
+}
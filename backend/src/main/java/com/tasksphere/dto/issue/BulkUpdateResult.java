@@ -0,0 +1,16 @@
+package com.tasksphere.dto.issue;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateResult {
+    private int requested;
+    private int updated;
+    private List<Long> updatedIds;
+}
@@ -0,0 +1,20 @@
+package com.tasksphere.dto.issue;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueCountsView {
+    private Long projectId;
+    private Long sprintId;
+    private long total;
+    private long storyPoints;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> storyPointsByStatus;
+    private Map<Long, Long> byAssignee; // 0 = unassigned
+}
@@ -0,0 +1,19 @@
+package com.tasksphere.dto.issue;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked search result
+ * summary and snippet are HTML-escaped with matched terms wrapped in &lt;mark&gt;
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueSearchHit {
+    private Long issueId;
+    private String summary;
+    private String snippet;
+    private double score;
+}
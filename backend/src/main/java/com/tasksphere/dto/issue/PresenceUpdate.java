@@ -0,0 +1,8 @@
+package com.tasksphere.dto.issue;
+
+import lombok.Data;
+
+@Data
+public class PresenceUpdate {
+    private String state; // VIEWING | EDITING, defaults to VIEWING
+}
@@ -0,0 +1,17 @@
+package com.tasksphere.dto.issue;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One user present on an issue, on any node
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresenceView {
+    private Long userId;
+    private String name;
+    private String state; // VIEWING | EDITING | TYPING
+}
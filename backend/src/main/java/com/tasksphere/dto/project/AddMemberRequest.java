@@ -0,0 +1,9 @@
+package com.tasksphere.dto.project;
+
+import lombok.Data;
+
+@Data
+public class AddMemberRequest {
+    private Long userId;
+    private String role; // MANAGER | DEV | QA | VIEWER
+}
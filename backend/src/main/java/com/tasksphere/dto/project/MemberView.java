@@ -0,0 +1,15 @@
+package com.tasksphere.dto.project;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberView {
+    private Long userId;
+    private String name;
+    private String email;
+    private String role;
+}
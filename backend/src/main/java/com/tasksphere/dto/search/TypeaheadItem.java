@@ -0,0 +1,15 @@
+package com.tasksphere.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TypeaheadItem {
+    private String type; // USER | PROJECT | ISSUE
+    private Long id;
+    private Long projectId;
+    private String label;
+}
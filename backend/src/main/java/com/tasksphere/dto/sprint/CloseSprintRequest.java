@@ -0,0 +1,8 @@
+package com.tasksphere.dto.sprint;
+
+import lombok.Data;
+
+@Data
+public class CloseSprintRequest {
+    private Long targetSprintId; // null moves unfinished issues to the backlog
+}
@@ -0,0 +1,23 @@
+package com.tasksphere.dto.sprint;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One day of a sprint report: remaining* for burndown, done and total for burnup
+ * Dates are ISO strings so the object caches as plain JSON
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SprintReportPoint {
+    private String date;
+    private long totalIssues;
+    private long doneIssues;
+    private long remainingIssues;
+    private long totalPoints;
+    private long donePoints;
+    private long remainingPoints;
+    private Double idealRemainingPoints;
+}
@@ -0,0 +1,20 @@
+package com.tasksphere.dto.sprint;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SprintReportView {
+    private Long projectId;
+    private Long sprintId;
+    private String name;
+    private String state;
+    private String startDate;
+    private String endDate;
+    private List<SprintReportPoint> points;
+}
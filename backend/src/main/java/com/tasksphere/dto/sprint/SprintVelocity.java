@@ -0,0 +1,16 @@
+package com.tasksphere.dto.sprint;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SprintVelocity {
+    private Long sprintId;
+    private String name;
+    private String endDate;
+    private long doneIssues;
+    private long donePoints;
+}
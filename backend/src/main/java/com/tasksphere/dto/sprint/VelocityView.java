@@ -0,0 +1,18 @@
+package com.tasksphere.dto.sprint;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VelocityView {
+    private Long projectId;
+    private int sprints;
+    private double averagePoints;
+    private double averageIssues;
+    private List<SprintVelocity> history; // newest first
+}
@@ -0,0 +1,119 @@
+package com.tasksphere.event;
+
+import java.util.Arrays;
+
+/**
+ * Bounded, time-windowed set of recently seen event ids, stored as 64-bit hashes
+ *
+ * A ring of generations, each an open-addressing table of longs. Inserts go
+ * to the current generation and lookups probe all of them. Every
+ * window/generations the oldest generation is cleared and becomes current, so
+ * an id is remembered for at least window*(generations-1)/generations. A
+ * generation that reaches half full rotates early, which shortens the window
+ * under bursts instead of growing memory. Nothing is allocated after
+ * construction.
+ *
+ * Two ids colliding on 64 bits would drop the second one as a duplicate; with
+ * a million ids in the window the odds are about 1 in 10^7.
+ */
+public final class EventIdWindow {
+
+    private final long[][] tables;
+    private final int[] fill;
+    private final int mask;
+    private final int maxFill;
+    private final long generationMs;
+    private int current;
+    private long rotatedAt;
+
+    /**
+     * @param generations Number of tables in the ring, at least 2
+     * @param capacity Ids remembered per generation, rounded up to a power of two
+     * @param windowMs How long an id is remembered when traffic stays under capacity
+     */
+    public EventIdWindow(int generations, int capacity, long windowMs) {
+        int gens = Math.max(2, generations);
+        int size = Integer.highestOneBit(Math.max(8, capacity) - 1) << 2; // at most half full
+        this.tables = new long[gens][size];
+        this.fill = new int[gens];
+        this.mask = size - 1;
+        this.maxFill = size / 2;
+        this.generationMs = Math.max(1, windowMs / gens);
+    }
+
+    /**
+     * Record an id hash unless it was already seen within the window
+     * @param hash Hash of the id, e.g. from {@link #hash(byte[], int, int)}
+     * @param now Current time in milliseconds
+     * @return true if the id is new, false if it is a duplicate
+     */
+    public synchronized boolean add(long hash, long now) {
+        long h = hash != 0 ? hash : 1; // 0 marks an empty slot
+        if (now - rotatedAt >= generationMs || fill[current] >= maxFill) {
+            rotate(now);
+        }
+        for (long[] table : tables) {
+            if (contains(table, h)) {
+                return false;
+            }
+        }
+        long[] table = tables[current];
+        int i = (int) h & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = h;
+        fill[current]++;
+        return true;
+    }
+
+    public synchronized int size() {
+        int total = 0;
+        for (int f : fill) {
+            total += f;
+        }
+        return total;
+    }
+
+    private boolean contains(long[] table, long h) {
+        int i = (int) h & mask;
+        long v;
+        while ((v = table[i]) != 0) {
+            if (v == h) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    private void rotate(long now) {
+        // After a long idle period every generation is stale; skip the ones in between
+        long elapsed = (now - rotatedAt) / generationMs;
+        int steps = (int) Math.min(tables.length, Math.max(1, elapsed));
+        for (int s = 0; s < steps; s++) {
+            current = (current + 1) % tables.length;
+            Arrays.fill(tables[current], 0L);
+            fill[current] = 0;
+        }
+        rotatedAt = now;
+    }
+
+    /**
+     * 64-bit FNV-1a over bytes [from, to), finished with the murmur3 mixer so the
+     * low bits used for probing are well spread
+     */
+    public static long hash(byte[] data, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= data[i] & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
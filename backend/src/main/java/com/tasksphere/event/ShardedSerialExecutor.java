@@ -0,0 +1,117 @@
+package com.tasksphere.event;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fixed set of single-threaded shards; tasks with the same key run in
+ * submission order on the same shard, tasks with different keys in parallel
+ *
+ * Each shard has a bounded queue. Submitting never blocks: a full queue
+ * rejects the task and counts it, so a caller on an I/O thread cannot be
+ * stalled by a slow shard. Per shard, the queue depth is exported as
+ * {name}.queue.depth and the time from submission to completion as
+ * {name}.latency; rejections as {name}.rejected.
+ */
+@Slf4j
+public final class ShardedSerialExecutor {
+
+    private final Shard[] shards;
+    private final Counter rejectedCounter;
+
+    /**
+     * @param name Thread name prefix and metric name prefix
+     * @param shardCount Number of shards (threads), at least 1
+     * @param queueCapacity Pending tasks per shard
+     */
+    public ShardedSerialExecutor(String name, int shardCount, int queueCapacity, MeterRegistry meterRegistry) {
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = new Shard(new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                    Timer.builder(name + ".latency")
+                            .description("Time from submission to completion of a task")
+                            .tag("shard", String.valueOf(i))
+                            .register(meterRegistry));
+            Gauge.builder(name + ".queue.depth", shard.queue, BlockingQueue::size)
+                    .description("Tasks waiting in the shard")
+                    .tag("shard", String.valueOf(i))
+                    .register(meterRegistry);
+            shard.thread = new Thread(shard, name + "-" + i);
+            shard.thread.setDaemon(true);
+            shards[i] = shard;
+        }
+        this.rejectedCounter = Counter.builder(name + ".rejected")
+                .description("Tasks rejected because their shard queue was full")
+                .register(meterRegistry);
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Queue a task behind earlier tasks of the same key
+     * @return false if the shard queue was full and the task was dropped
+     */
+    public boolean execute(Object key, Runnable task) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        Shard shard = shards[(h & Integer.MAX_VALUE) % shards.length];
+        if (shard.queue.offer(new Task(task, System.nanoTime()))) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.running = false;
+            shard.thread.interrupt();
+        }
+    }
+
+    private record Task(Runnable runnable, long submittedAt) {
+    }
+
+    private static final class Shard implements Runnable {
+        final BlockingQueue<Task> queue;
+        final Timer latency;
+        Thread thread;
+        volatile boolean running = true;
+
+        Shard(BlockingQueue<Task> queue, Timer latency) {
+            this.queue = queue;
+            this.latency = latency;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Task task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    task.runnable().run();
+                } catch (Exception e) {
+                    log.error("Task failed on {}: {}", Thread.currentThread().getName(), e.getMessage(), e);
+                }
+                latency.record(System.nanoTime() - task.submittedAt(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.tasksphere.metrics;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.context.ApplicationListener;
@@ -9,6 +11,7 @@ import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -16,25 +19,53 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Tracks active WebSocket sessions for scaling and monitoring
  * Exposes metrics that can be used by auto-scaling policies
+ *
+ * Besides the active gauge, connects, disconnects and rejected handshakes
+ * (tagged by reason) are counted so their rates show reconnect storms.
  */
 @Component
 @Slf4j
 public class WebSocketSessionMetrics implements ApplicationListener<AbstractSubProtocolEvent> {
 
     private final AtomicInteger activeSessions = new AtomicInteger(0);
+    private final MeterRegistry registry;
+    private final Counter connectCounter;
+    private final Counter disconnectCounter;
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
 
     public WebSocketSessionMetrics(MeterRegistry registry) {
+        this.registry = registry;
         Gauge.builder("realtime.websocket.active", activeSessions, AtomicInteger::get)
              .description("Active STOMP WebSocket sessions")
              .register(registry);
+        this.connectCounter = Counter.builder("realtime.websocket.connects")
+             .description("STOMP sessions connected")
+             .register(registry);
+        this.disconnectCounter = Counter.builder("realtime.websocket.disconnects")
+             .description("STOMP sessions disconnected")
+             .register(registry);
+    }
+
+    /**
+     * Count a refused WebSocket handshake
+     * @param reason admission or unauthorized
+     */
+    public void recordRejected(String reason) {
+        rejectedCounters.computeIfAbsent(reason, r -> Counter.builder("realtime.websocket.rejected")
+             .description("WebSocket handshakes refused")
+             .tag("reason", r)
+             .register(registry))
+             .increment();
     }
 
     @Override
     public void onApplicationEvent(@NonNull AbstractSubProtocolEvent event) {
         if (event instanceof SessionConnectEvent) {
+            connectCounter.increment();
             int current = activeSessions.incrementAndGet();
             log.debug("WebSocket session connected. Active sessions: {}", current);
         } else if (event instanceof SessionDisconnectEvent) {
+            disconnectCounter.increment();
             int current = activeSessions.decrementAndGet();
             log.debug("WebSocket session disconnected. Active sessions: {}", current);
         }
@@ -0,0 +1,412 @@
+package com.tasksphere.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable prefix index over short display labels, used for typeahead
+ *
+ * Documents are held in parallel arrays ordered by id. Every label is split
+ * into lowercase terms; the distinct terms are kept sorted, each with a posting
+ * list of document ordinals in descending order, so a prefix lookup is a binary
+ * search for the range of matching terms followed by a newest-first merge of
+ * their postings. A prefix covering many terms is answered by sorting its
+ * postings when there are few of them, and otherwise by scanning documents
+ * newest first, which finds enough matches quickly precisely because the
+ * prefix is common.
+ *
+ * Documents are also grouped by scope, each group newest first. The scope
+ * filter is resolved once per distinct scope, and scans walk only the groups
+ * it accepts, so MAX_SCAN counts in-scope documents only and a small scope
+ * (one project) is checked exhaustively however common the prefix is.
+ *
+ * Terms and labels are packed into flat char and UTF-8 byte arrays rather than
+ * held as millions of String objects; issue keys alone make every issue
+ * contribute unique terms, so per-object overhead would otherwise dominate.
+ */
+public final class PrefixIndex {
+    static final int MAX_TERM_LENGTH = 24;
+    static final int MAX_MERGE_TERMS = 64;
+    static final int MAX_GATHER = 16_384;
+    static final int MAX_SCAN = 20_000;
+
+    public static final PrefixIndex EMPTY = build(List.of());
+
+    private final long[] ids;
+    private final long[] scopes;
+    private final int[] scopeOf;       // per document: index into scopeKeys
+    private final long[] scopeKeys;    // distinct scopes, ascending
+    private final int[] scopeStart;    // per scope: range of scopeDocs
+    private final int[] scopeDocs;     // documents grouped by scope, each group descending
+    private final byte[] labelBytes;
+    private final int[] labelStart;
+    private final char[] termChars;
+    private final int[] termCharStart;
+    private final int[] termStart;
+    private final int[] postings;
+
+    /**
+     * @param id Entity id
+     * @param scope Owning scope used to filter results (e.g. project id), 0 if none
+     * @param label Text shown to the user and indexed
+     */
+    public record Doc(long id, long scope, String label) {
+    }
+
+    private PrefixIndex(long[] ids, long[] scopes, byte[] labelBytes, int[] labelStart,
+                        char[] termChars, int[] termCharStart, int[] termStart, int[] postings) {
+        this.ids = ids;
+        this.scopes = scopes;
+        this.scopeKeys = Arrays.stream(scopes).distinct().sorted().toArray();
+        this.scopeOf = new int[ids.length];
+        this.scopeStart = new int[scopeKeys.length + 1];
+        this.scopeDocs = new int[ids.length];
+        for (int doc = 0; doc < ids.length; doc++) {
+            scopeOf[doc] = Arrays.binarySearch(scopeKeys, scopes[doc]);
+            scopeStart[scopeOf[doc] + 1]++;
+        }
+        for (int k = 0; k < scopeKeys.length; k++) {
+            scopeStart[k + 1] += scopeStart[k];
+        }
+        int[] fill = Arrays.copyOf(scopeStart, scopeKeys.length);
+        for (int doc = ids.length - 1; doc >= 0; doc--) {
+            scopeDocs[fill[scopeOf[doc]]++] = doc;
+        }
+        this.labelBytes = labelBytes;
+        this.labelStart = labelStart;
+        this.termChars = termChars;
+        this.termCharStart = termCharStart;
+        this.termStart = termStart;
+        this.postings = postings;
+    }
+
+    /**
+     * Build an index from documents in any order; for duplicate ids the last one wins
+     * Labels must not be null
+     */
+    public static PrefixIndex build(List<Doc> docs) {
+        Doc[] sorted = docs.toArray(new Doc[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(Doc::id));
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (n > 0 && sorted[n - 1].id() == sorted[i].id()) {
+                n--;
+            }
+            sorted[n++] = sorted[i];
+        }
+
+        long[] ids = new long[n];
+        long[] scopes = new long[n];
+        byte[][] encoded = new byte[n][];
+        int[] labelStart = new int[n + 1];
+        Map<String, IntList> byTerm = new HashMap<>();
+        for (int doc = n - 1; doc >= 0; doc--) {
+            ids[doc] = sorted[doc].id();
+            scopes[doc] = sorted[doc].scope();
+            encoded[doc] = sorted[doc].label().getBytes(StandardCharsets.UTF_8);
+            for (String term : terms(sorted[doc].label())) {
+                IntList list = byTerm.computeIfAbsent(term, t -> new IntList());
+                // Walking documents downwards keeps each posting list descending
+                if (list.size == 0 || list.last() != doc) {
+                    list.add(doc);
+                }
+            }
+        }
+        for (int doc = 0; doc < n; doc++) {
+            labelStart[doc + 1] = labelStart[doc] + encoded[doc].length;
+        }
+        byte[] labelBytes = new byte[labelStart[n]];
+        for (int doc = 0; doc < n; doc++) {
+            System.arraycopy(encoded[doc], 0, labelBytes, labelStart[doc], encoded[doc].length);
+        }
+
+        String[] terms = byTerm.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[] termCharStart = new int[terms.length + 1];
+        int[] termStart = new int[terms.length + 1];
+        for (int t = 0; t < terms.length; t++) {
+            termCharStart[t + 1] = termCharStart[t] + terms[t].length();
+            termStart[t + 1] = termStart[t] + byTerm.get(terms[t]).size;
+        }
+        char[] termChars = new char[termCharStart[terms.length]];
+        int[] postings = new int[termStart[terms.length]];
+        for (int t = 0; t < terms.length; t++) {
+            terms[t].getChars(0, terms[t].length(), termChars, termCharStart[t]);
+            IntList list = byTerm.get(terms[t]);
+            System.arraycopy(list.values, 0, postings, termStart[t], list.size);
+        }
+        return new PrefixIndex(ids, scopes, labelBytes, labelStart, termChars, termCharStart, termStart, postings);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Documents in id order, e.g. to rebuild with changes applied
+     */
+    public List<Doc> docs() {
+        List<Doc> docs = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            docs.add(new Doc(ids[i], scopes[i], label(i)));
+        }
+        return docs;
+    }
+
+    /**
+     * Newest documents whose label has a term starting with every word of the query
+     * @param query Raw user input
+     * @param inScope Accepts the scopes to include
+     * @param filter Applied to document ids, e.g. to hide superseded entries
+     * @param limit Maximum results
+     * @return Matches, highest id first
+     */
+    public List<Doc> search(String query, LongPredicate inScope, LongPredicate filter, int limit) {
+        String[] words = words(query);
+        if (words.length == 0 || ids.length == 0) {
+            return List.of();
+        }
+        // Drive the lookup with the word whose matching terms have the fewest postings
+        int lo = 0;
+        int hi = 0;
+        for (String w : words) {
+            int from = lowerBound(w);
+            int to = lowerBound(w + Character.MAX_VALUE);
+            if (from == to) {
+                return List.of();
+            }
+            if (hi == 0 || termStart[to] - termStart[from] < termStart[hi] - termStart[lo]) {
+                lo = from;
+                hi = to;
+            }
+        }
+
+        // Resolve the scope filter once per distinct scope
+        boolean[] accepted = new boolean[scopeKeys.length];
+        int inScopeDocs = 0;
+        for (int k = 0; k < scopeKeys.length; k++) {
+            if (inScope.test(scopeKeys[k])) {
+                accepted[k] = true;
+                inScopeDocs += scopeStart[k + 1] - scopeStart[k];
+            }
+        }
+        if (inScopeDocs == 0) {
+            return List.of();
+        }
+
+        List<Doc> out = new ArrayList<>(limit);
+        int matching = termStart[hi] - termStart[lo];
+        if (inScopeDocs <= MAX_SCAN) {
+            // Small scope: checking every document in it is cheap and exact
+            scanScopes(accepted, words, filter, limit, out);
+        } else if (hi - lo <= MAX_MERGE_TERMS) {
+            mergePostings(lo, hi, words, accepted, filter, limit, out);
+        } else if (matching <= MAX_GATHER) {
+            // Many rare terms (e.g. issue keys): postings of adjacent terms are contiguous, sort them once
+            int[] docs = Arrays.copyOfRange(postings, termStart[lo], termStart[hi]);
+            Arrays.sort(docs);
+            for (int i = docs.length - 1; i >= 0 && out.size() < limit; i--) {
+                if (i == docs.length - 1 || docs[i] != docs[i + 1]) {
+                    collect(docs[i], words, accepted, filter, out);
+                }
+            }
+        } else {
+            // Common prefix: matches are dense, so checking documents newest first finds them quickly
+            scanScopes(accepted, words, filter, limit, out);
+        }
+        return out;
+    }
+
+    /**
+     * Newest-first walk over the documents of the accepted scopes, at most MAX_SCAN of them
+     */
+    private void scanScopes(boolean[] accepted, String[] words, LongPredicate filter, int limit, List<Doc> out) {
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) -> Integer.compare(scopeDocs[b[0]], scopeDocs[a[0]]));
+        for (int k = 0; k < scopeKeys.length; k++) {
+            if (accepted[k] && scopeStart[k] < scopeStart[k + 1]) {
+                heap.add(new int[] {scopeStart[k], scopeStart[k + 1]});
+            }
+        }
+        int scanned = 0;
+        while (!heap.isEmpty() && out.size() < limit && scanned++ < MAX_SCAN) {
+            int[] cursor = heap.poll();
+            int doc = scopeDocs[cursor[0]];
+            if (++cursor[0] < cursor[1]) {
+                heap.add(cursor);
+            }
+            collect(doc, words, accepted, filter, out);
+        }
+    }
+
+    /**
+     * Newest-first merge of the posting lists of terms [lo, hi); a document repeats across its terms
+     * Only documents in an accepted scope count towards MAX_SCAN
+     */
+    private void mergePostings(int lo, int hi, String[] words, boolean[] accepted, LongPredicate filter,
+                               int limit, List<Doc> out) {
+        PriorityQueue<int[]> heap = new PriorityQueue<>(hi - lo, (a, b) -> Integer.compare(postings[b[0]], postings[a[0]]));
+        for (int t = lo; t < hi; t++) {
+            heap.add(new int[] {termStart[t], termStart[t + 1]});
+        }
+        int previous = -1;
+        int scanned = 0;
+        while (!heap.isEmpty() && out.size() < limit && scanned < MAX_SCAN) {
+            int[] cursor = heap.poll();
+            int doc = postings[cursor[0]];
+            if (++cursor[0] < cursor[1]) {
+                heap.add(cursor);
+            }
+            if (doc != previous && accepted[scopeOf[doc]]) {
+                previous = doc;
+                scanned++;
+                collect(doc, words, accepted, filter, out);
+            }
+        }
+    }
+
+    private void collect(int doc, String[] words, boolean[] accepted, LongPredicate filter, List<Doc> out) {
+        if (accepted[scopeOf[doc]] && filter.test(ids[doc])) {
+            String label = label(doc);
+            if (matches(label, words)) {
+                out.add(new Doc(ids[doc], scopes[doc], label));
+            }
+        }
+    }
+
+    private String label(int doc) {
+        return new String(labelBytes, labelStart[doc], labelStart[doc + 1] - labelStart[doc], StandardCharsets.UTF_8);
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = termCharStart.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareTerm(mid, key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Same ordering as String.compareTo between term t and key
+     */
+    private int compareTerm(int t, String key) {
+        int from = termCharStart[t];
+        int len = termCharStart[t + 1] - from;
+        int common = Math.min(len, key.length());
+        for (int i = 0; i < common; i++) {
+            char c = termChars[from + i];
+            char k = key.charAt(i);
+            if (c != k) {
+                return c - k;
+            }
+        }
+        return len - key.length();
+    }
+
+    /**
+     * True if every word occurs in the label at a word boundary, i.e. is a prefix of one of its terms
+     */
+    public static boolean matches(String label, String[] words) {
+        String text = label.toLowerCase(Locale.ROOT);
+        for (String w : words) {
+            boolean found = false;
+            for (int at = text.indexOf(w); at >= 0; at = text.indexOf(w, at + 1)) {
+                if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lowercased query words, cut to the indexed term length
+     */
+    public static String[] words(String query) {
+        if (query == null) {
+            return new String[0];
+        }
+        return Arrays.stream(query.strip().toLowerCase(Locale.ROOT).split("\\s+"))
+                .map(PrefixIndex::trim)
+                .filter(w -> !w.isEmpty())
+                .map(w -> w.length() > MAX_TERM_LENGTH ? w.substring(0, MAX_TERM_LENGTH) : w)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Terms of a label: each whitespace-separated token with surrounding punctuation
+     * removed (so "alice@example.com" and "PROJ-12" match as typed), plus its
+     * alphanumeric parts
+     */
+    static List<String> terms(String label) {
+        List<String> out = new ArrayList<>();
+        if (label == null) {
+            return out;
+        }
+        for (String token : label.toLowerCase(Locale.ROOT).split("\\s+")) {
+            String t = trim(token);
+            if (t.isEmpty()) {
+                continue;
+            }
+            add(out, t);
+            for (String part : t.split("[^\\p{L}\\p{N}]+")) {
+                if (!part.isEmpty() && !part.equals(t)) {
+                    add(out, part);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static void add(List<String> out, String term) {
+        String t = term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+        if (!out.contains(t)) {
+            out.add(t);
+        }
+    }
+
+    private static String trim(String token) {
+        int from = 0;
+        int to = token.length();
+        while (from < to && !Character.isLetterOrDigit(token.charAt(from))) {
+            from++;
+        }
+        while (to > from && !Character.isLetterOrDigit(token.charAt(to - 1))) {
+            to--;
+        }
+        return token.substring(from, to);
+    }
+
+    private static final class IntList {
+        int[] values = new int[2];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+
+        int last() {
+            return values[size - 1];
+        }
+    }
+}
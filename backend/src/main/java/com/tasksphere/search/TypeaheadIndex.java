@@ -0,0 +1,106 @@
+package com.tasksphere.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * A {@link PrefixIndex} snapshot plus a small delta of changes made since it was built
+ *
+ * Updates go to the delta map (a null label marks a removal) and override the
+ * snapshot at query time. Once the delta grows past compactThreshold the owner
+ * calls {@link #compact()}, which folds it into a fresh snapshot. Reads never
+ * block; compaction must not run concurrently with itself.
+ */
+public class TypeaheadIndex {
+
+    private final int compactThreshold;
+    private final Map<Long, PrefixIndex.Doc> delta = new ConcurrentHashMap<>();
+    private volatile PrefixIndex snapshot = PrefixIndex.EMPTY;
+
+    public TypeaheadIndex(int compactThreshold) {
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Replace everything, e.g. after a full load
+     */
+    public void reset(List<PrefixIndex.Doc> docs) {
+        snapshot = PrefixIndex.build(docs);
+        delta.clear();
+    }
+
+    public void put(long id, long scope, String label) {
+        delta.put(id, new PrefixIndex.Doc(id, scope, label));
+    }
+
+    public void remove(long id) {
+        delta.put(id, new PrefixIndex.Doc(id, 0, null));
+    }
+
+    public boolean needsCompaction() {
+        return delta.size() >= compactThreshold;
+    }
+
+    /**
+     * Rebuild the snapshot with the current delta applied
+     */
+    public void compact() {
+        List<PrefixIndex.Doc> applied = new ArrayList<>(delta.values());
+        Map<Long, PrefixIndex.Doc> changes = new HashMap<>(applied.size() * 2);
+        for (PrefixIndex.Doc d : applied) {
+            changes.put(d.id(), d);
+        }
+
+        List<PrefixIndex.Doc> docs = new ArrayList<>(snapshot.size() + applied.size());
+        for (PrefixIndex.Doc d : snapshot.docs()) {
+            if (!changes.containsKey(d.id())) {
+                docs.add(d);
+            }
+        }
+        for (PrefixIndex.Doc d : applied) {
+            if (d.label() != null) {
+                docs.add(d);
+            }
+        }
+        snapshot = PrefixIndex.build(docs);
+        // Entries updated again during the rebuild stay in the delta
+        for (PrefixIndex.Doc d : applied) {
+            delta.remove(d.id(), d);
+        }
+    }
+
+    /**
+     * @param inScope Accepts the scopes to include
+     * @return Up to limit matches, highest id first
+     */
+    public List<PrefixIndex.Doc> search(String query, LongPredicate inScope, int limit) {
+        String[] words = PrefixIndex.words(query);
+        if (words.length == 0) {
+            return List.of();
+        }
+
+        List<PrefixIndex.Doc> recent = new ArrayList<>();
+        for (PrefixIndex.Doc d : delta.values()) {
+            if (d.label() != null && inScope.test(d.scope()) && PrefixIndex.matches(d.label(), words)) {
+                recent.add(d);
+            }
+        }
+        List<PrefixIndex.Doc> indexed = snapshot.search(query, inScope, id -> !delta.containsKey(id), limit);
+        if (recent.isEmpty()) {
+            return indexed;
+        }
+
+        recent.addAll(indexed);
+        recent.sort(Comparator.comparingLong(PrefixIndex.Doc::id).reversed());
+        return recent.size() > limit ? recent.subList(0, limit) : recent;
+    }
+
+    public int size() {
+        return snapshot.size() + delta.size();
+    }
+}
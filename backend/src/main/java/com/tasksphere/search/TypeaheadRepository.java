@@ -0,0 +1,76 @@
+package com.tasksphere.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Loads typeahead entries for users, projects and issues
+ *
+ * Labels are built here so that everything indexed is also what is shown.
+ * Full loads stream rows (MySQL fetch size Integer.MIN_VALUE) instead of
+ * materializing a million-row result list.
+ */
+@Repository
+public class TypeaheadRepository {
+    static final String SEP = " · ";
+
+    private static final String USERS = "SELECT id, name, email FROM users WHERE is_active = 1";
+    private static final String PROJECTS = "SELECT id, `key`, name FROM projects";
+    private static final String ISSUES =
+            "SELECT i.id, i.project_id, p.`key`, i.summary FROM issues i JOIN projects p ON p.id = i.project_id";
+
+    private static final RowMapper<PrefixIndex.Doc> USER_ROW = (rs, n) ->
+            new PrefixIndex.Doc(rs.getLong(1), 0, rs.getString(2) + SEP + rs.getString(3));
+    private static final RowMapper<PrefixIndex.Doc> PROJECT_ROW = (rs, n) ->
+            new PrefixIndex.Doc(rs.getLong(1), rs.getLong(1), rs.getString(2) + SEP + rs.getString(3));
+    private static final RowMapper<PrefixIndex.Doc> ISSUE_ROW = (rs, n) ->
+            new PrefixIndex.Doc(rs.getLong(1), rs.getLong(2), rs.getString(3) + "-" + rs.getLong(1) + SEP + rs.getString(4));
+
+    private final JdbcTemplate streaming;
+    private final NamedParameterJdbcTemplate named;
+
+    public TypeaheadRepository(DataSource dataSource, NamedParameterJdbcTemplate named) {
+        this.streaming = new JdbcTemplate(dataSource);
+        this.streaming.setFetchSize(Integer.MIN_VALUE);
+        this.named = named;
+    }
+
+    public void streamUsers(Consumer<PrefixIndex.Doc> sink) {
+        stream(USERS, USER_ROW, sink);
+    }
+
+    public void streamProjects(Consumer<PrefixIndex.Doc> sink) {
+        stream(PROJECTS, PROJECT_ROW, sink);
+    }
+
+    public void streamIssues(Consumer<PrefixIndex.Doc> sink) {
+        stream(ISSUES, ISSUE_ROW, sink);
+    }
+
+    public List<PrefixIndex.Doc> findUsers(Collection<Long> ids) {
+        return named.query(USERS + " AND id IN (:ids)", new MapSqlParameterSource("ids", ids), USER_ROW);
+    }
+
+    public List<PrefixIndex.Doc> findProjects(Collection<Long> ids) {
+        return named.query(PROJECTS + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids), PROJECT_ROW);
+    }
+
+    public List<PrefixIndex.Doc> findIssues(Collection<Long> ids) {
+        return named.query(ISSUES + " WHERE i.id IN (:ids)", new MapSqlParameterSource("ids", ids), ISSUE_ROW);
+    }
+
+    private void stream(String sql, RowMapper<PrefixIndex.Doc> mapper, Consumer<PrefixIndex.Doc> sink) {
+        int[] row = {0};
+        streaming.query(sql, (RowCallbackHandler) rs -> sink.accept(mapper.mapRow(rs, row[0]++)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.tasksphere.security;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import lombok.Getter;
+
+/**
+ * Lightweight authenticated principal built purely from verified JWT claims
+ * Replaces the JPA User entity in the security context so that requests
+ * authenticate without a database lookup
+ */
+@Getter
+public class AuthPrincipal implements Serializable {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final List<String> roles;
+
+    /**
+     * Project-scoped roles from team_members at token issue time (projectId -> role name)
+     */
+    private final Map<Long, String> projectRoles;
+
+    /**
+     * Token issue time in epoch milliseconds, used for revocation checks
+     */
+    private final long issuedAt;
+
+    private final transient List<GrantedAuthority> authorities;
+
+    public AuthPrincipal(Long id, String email, String name, List<String> roles,
+                         Map<Long, String> projectRoles, long issuedAt) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.roles = List.copyOf(roles);
+        this.projectRoles = Map.copyOf(projectRoles);
+        this.issuedAt = issuedAt;
+
+        List<GrantedAuthority> granted = new ArrayList<>(this.roles.size());
+        for (String role : this.roles) {
+            granted.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        this.authorities = List.copyOf(granted);
+    }
+
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    /**
+     * @param projectId The project ID
+     * @return the team role held in the project, or null if not a member
+     */
+    public String getProjectRole(Long projectId) {
+        return projectId != null ? projectRoles.get(projectId) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthPrincipal[id=" + id + ", email=" + email + ", roles=" + roles + "]";
+    }
+}
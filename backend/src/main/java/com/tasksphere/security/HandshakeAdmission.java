@@ -0,0 +1,57 @@
+package com.tasksphere.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.tasksphere.config.AppProperties;
+import com.tasksphere.security.ratelimit.TokenBucketTable;
+
+/**
+ * Per-node admission limit for WebSocket handshakes
+ *
+ * One token bucket of handshakeBurst tokens refilled at handshakeRatePerSecond.
+ * Rejected clients get a Retry-After of the time to the next token plus a
+ * random 0..handshakeRetryJitterSeconds, so a reconnect storm comes back
+ * spread out instead of in lockstep.
+ *
+ * Clients resuming a session they just lost get priority: new connections
+ * stop once the bucket is down to the reserved share of the burst, which only
+ * resuming clients may use. A client counts as resuming only with a valid
+ * resume token from its previous session (see WebSocketAuthInterceptor). The
+ * reserve check and the take are one atomic step.
+ */
+@Component
+public class HandshakeAdmission {
+
+    private static final String KEY = "handshake";
+
+    private final TokenBucketTable bucket = new TokenBucketTable(8);
+    private final AppProperties.Realtime config;
+
+    public HandshakeAdmission(AppProperties properties) {
+        this.config = properties.getRealtime();
+    }
+
+    /**
+     * @param resuming Whether the client is re-establishing a session it already had
+     * @return 0 if the handshake may proceed, otherwise the seconds the client should wait
+     */
+    public int tryAdmit(boolean resuming) {
+        int rate = Math.max(1, config.getHandshakeRatePerSecond());
+        int burst = Math.max(1, Math.min(TokenBucketTable.MAX_CAPACITY, config.getHandshakeBurst()));
+        long nanosPerToken = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        int reserve = resuming ? 0
+                : (int) Math.min(burst - 1, burst * Math.max(0.0, config.getHandshakeResumeReserve()));
+        long result = bucket.tryTake(KEY, burst, nanosPerToken, reserve);
+        return result >= 0 ? 0 : retryAfter(-result);
+    }
+
+    private int retryAfter(long waitNanos) {
+        long waitSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        int jitter = Math.max(0, config.getHandshakeRetryJitterSeconds());
+        return (int) waitSeconds + ThreadLocalRandom.current().nextInt(jitter + 1);
+    }
+}
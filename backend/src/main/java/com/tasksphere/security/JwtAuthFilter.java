@@ -1,29 +1,30 @@
 package com.tasksphere.security;
 
 import java.io.IOException;
-import java.util.List;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.tasksphere.domain.user.UserRepository;
-
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Authenticates requests from the bearer token's verified claims alone;
+ * no user lookup is performed per request
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwt;
-    private final UserRepository users;
+    private final TokenRevocationService revocations;
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res,
@@ -33,17 +34,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String token = header.substring(7);
             try {
                 Claims claims = jwt.validate(token);
-                String email = claims.getSubject();
-                users.findByEmail(email).ifPresent(u -> {
+                AuthPrincipal principal = jwt.toPrincipal(claims);
+                if (!revocations.isRevoked(principal.getId(), principal.getIssuedAt())) {
                     UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(u, null,
-                            List.of(new SimpleGrantedAuthority("ROLE_DEV"))); // replace with actual roles
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(auth);
-                });
-            } catch (Exception e) {
+                }
+            } catch (JwtException | IllegalArgumentException e) {
                 // invalid token: just continue without authentication
             }
         }
         chain.doFilter(req, res);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,10 @@
 package com.tasksphere.security;
 
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -10,9 +13,11 @@ import com.tasksphere.domain.user.User;
 import com.tasksphere.domain.user.UserRepository;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @Component
@@ -20,46 +25,196 @@ import lombok.RequiredArgsConstructor;
 public class JwtTokenUtil {
 
     private final UserRepository userRepository;
-    
+
     @Value("${app.jwt.secret}")
     private String secret;
-    
-    private static final long ACCESS_EXP_MS = 15 * 60 * 1000;   // 15 min
+
+    static final long ACCESS_EXP_MS = 15 * 60 * 1000;   // 15 min
     private static final long REFRESH_EXP_MS = 7 * 24 * 60 * 60 * 1000; // 7 days
 
+    private static final String DEFAULT_ROLE = "DEV";
+    private static final String WS_TICKET_TYPE = "ws";
+    private static final String RESUME_TYPE = "resume";
+    // iat has whole-second precision; revocation compares issue times to the millisecond
+    private static final String ISSUED_AT_MS = "iat_ms";
+
+    // Key and parser are immutable and thread-safe, build them once
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    /**
+     * Issue an access token carrying everything needed to authenticate a request:
+     * user id, name, global roles from user_roles and project roles from team_members
+     */
     public String generateAccessToken(User user) {
+        return generateAccessToken(user, resolveRoles(user.getId()));
+    }
+
+    public String generateAccessToken(User user, List<String> roles) {
+        Map<String, String> projectRoles = new HashMap<>();
+        for (UserRepository.ProjectRole pr : userRepository.findProjectRoles(user.getId())) {
+            projectRoles.put(String.valueOf(pr.getProjectId()), pr.getRole());
+        }
+
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setSubject(user.getEmail())
                 .claim("uid", user.getId())
                 .claim("name", user.getName())
-                .claim("roles", List.of("DEV"))   // or actual roles
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + ACCESS_EXP_MS))
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .claim("roles", roles)
+                .claim("prj", projectRoles)
+                .claim(ISSUED_AT_MS, now)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ACCESS_EXP_MS))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public String generateRefreshToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getEmail())
+                .claim("ver", user.getTokenVersion())
+                .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + REFRESH_EXP_MS))
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Issue a short-lived WebSocket ticket carrying the caller's claims, so the access
+     * token itself never has to appear in a /ws URL. The ticket keeps the access token's
+     * issue time, so revoking the access token also revokes its tickets.
+     */
+    public String generateWsTicket(AuthPrincipal principal, long ttlMs) {
+        Map<String, String> projectRoles = new HashMap<>();
+        principal.getProjectRoles().forEach((projectId, role) -> projectRoles.put(String.valueOf(projectId), role));
+
+        return Jwts.builder()
+                .setSubject(principal.getEmail())
+                .claim("uid", principal.getId())
+                .claim("name", principal.getName())
+                .claim("roles", principal.getRoles())
+                .claim("prj", projectRoles)
+                .claim("typ", WS_TICKET_TYPE)
+                .claim(ISSUED_AT_MS, principal.getIssuedAt())
+                .setIssuedAt(new Date(principal.getIssuedAt()))
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verify a ticket from {@link #generateWsTicket} and build its principal
+     * @throws IllegalArgumentException if the token is not a WebSocket ticket
+     */
+    public AuthPrincipal validateWsTicket(String ticket) {
+        Claims claims = validate(ticket);
+        if (!WS_TICKET_TYPE.equals(claims.get("typ", String.class))) {
+            throw new IllegalArgumentException("Not a WebSocket ticket");
+        }
+        return principalOf(claims);
+    }
+
+    /**
+     * Issue a token proving the user held a WebSocket session, presented on reconnect
+     * for handshake priority. It carries no roles and authenticates nothing.
+     */
+    public String generateResumeToken(Long userId, long ttlMs) {
+        return Jwts.builder()
+                .claim("uid", userId)
+                .claim("typ", RESUME_TYPE)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * @return the user id of a valid resume token from {@link #generateResumeToken}
+     * @throws IllegalArgumentException if the token is not a resume token
+     */
+    public Long validateResumeToken(String token) {
+        Claims claims = validate(token);
+        if (!RESUME_TYPE.equals(claims.get("typ", String.class))) {
+            throw new IllegalArgumentException("Not a resume token");
+        }
+        return claims.get("uid", Long.class);
+    }
+
+    /**
+     * Global roles for a user, falling back to DEV when none are assigned
+     */
+    public List<String> resolveRoles(Long userId) {
+        List<String> roles = userRepository.findRoleNames(userId);
+        return roles.isEmpty() ? List.of(DEFAULT_ROLE) : roles;
+    }
+
     public Claims validate(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secret.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Build a principal from verified access token claims without touching the database
+     * @param claims Claims returned by {@link #validate(String)}
+     * @return the principal
+     * @throws IllegalArgumentException if the token is not an access token
+     */
+    public AuthPrincipal toPrincipal(Claims claims) {
+        if (claims.get("typ") != null) {
+            // WebSocket tickets only open connections; they are not accepted as API tokens
+            throw new IllegalArgumentException("Not an access token");
+        }
+        return principalOf(claims);
     }
 
+    private AuthPrincipal principalOf(Claims claims) {
+        Number uid = claims.get("uid", Number.class);
+        if (uid == null) {
+            throw new IllegalArgumentException("Not an access token");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get("roles", List.class);
+        @SuppressWarnings("unchecked")
+        Map<String, String> prj = claims.get("prj", Map.class);
+
+        Map<Long, String> projectRoles = new HashMap<>();
+        if (prj != null) {
+            prj.forEach((projectId, role) -> projectRoles.put(Long.valueOf(projectId), role));
+        }
+
+        // Tokens issued before iat_ms existed fall back to the whole second
+        Number issuedAtMs = claims.get(ISSUED_AT_MS, Number.class);
+        Date issuedAt = claims.getIssuedAt();
+        return new AuthPrincipal(uid.longValue(), claims.getSubject(), claims.get("name", String.class),
+                roles != null ? roles : List.of(), projectRoles,
+                issuedAtMs != null ? issuedAtMs.longValue() : issuedAt != null ? issuedAt.getTime() : 0L);
+    }
+
+    /**
+     * Validate a refresh token and load its user, rejecting tokens invalidated
+     * by a token version bump or belonging to deactivated users
+     */
     public User validateAndGetUser(String token) {
         Claims claims = validate(token);
         String email = claims.getSubject();
-        return userRepository.findByEmail(email)
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Number version = claims.get("ver", Number.class);
+        if (version == null || version.intValue() != user.getTokenVersion()) {
+            throw new RuntimeException("Refresh token has been revoked");
+        }
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new RuntimeException("User is deactivated");
+        }
+        return user;
     }
 
     public boolean isTokenValid(String token) {
@@ -75,4 +230,4 @@ public class JwtTokenUtil {
         Claims claims = validate(token);
         return claims.getSubject();
     }
-}
\ No newline at end of file
+}
@@ -4,9 +4,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import com.tasksphere.domain.project.ProjectRepository;
-import com.tasksphere.domain.user.User;
-
 /**
  * Custom permission checker for method-level security
  * Used with @PreAuthorize annotations for fine-grained access control
@@ -15,7 +12,7 @@ import com.tasksphere.domain.user.User;
 public class PermissionChecker {
 
     @Autowired
-    private ProjectRepository projectRepository;
+    private ProjectAclService acls;
 
     /**
      * Check if user can manage a specific project
@@ -24,54 +21,46 @@ public class PermissionChecker {
      * @return true if user is admin, project owner, or project manager
      */
     public boolean canManageProject(Long projectId, Authentication auth) {
-        if (auth == null || auth.getPrincipal() == null) {
+        AuthPrincipal user = principal(auth);
+        if (user == null || projectId == null) {
             return false;
         }
-
-        User user = (User) auth.getPrincipal();
-        
-        // For now, check if user is project owner
-        // In a full implementation, you would also check team membership and roles
-        return projectRepository.findById(projectId)
-                .map(project -> project.getOwner().getId().equals(user.getId()))
-                .orElse(false);
+        return user.hasRole("ADMIN") || acls.acl(user.getId()).canManage(projectId);
     }
 
     /**
      * Check if user can access a specific project (read operations)
      * @param projectId The project ID
      * @param auth Authentication object containing user details
-     * @return true if user has access to the project
+     * @return true if user is admin, a team member, or the project owner
      */
     public boolean canAccessProject(Long projectId, Authentication auth) {
-        if (auth == null || auth.getPrincipal() == null) {
+        AuthPrincipal user = principal(auth);
+        if (user == null || projectId == null) {
             return false;
         }
-
-        User user = (User) auth.getPrincipal();
-        
-        // Check if user is project owner
-        // In a full implementation, you would also check team membership
-        return projectRepository.findById(projectId)
-                .map(project -> project.getOwner().getId().equals(user.getId()))
-                .orElse(false);
+        // Cached ACL rather than token claims, so membership changes apply before the token expires
+        return user.hasRole("ADMIN") || acls.acl(user.getId()).canAccess(projectId);
     }
 
     /**
      * Check if user owns a specific resource
      * @param resourceOwnerId The ID of the resource owner
      * @param auth Authentication object containing user details
-     * @return true if user owns the resource
+     * @return true if user owns the resource or is an admin
      */
     public boolean isOwnerOrAdmin(Long resourceOwnerId, Authentication auth) {
-        if (auth == null || auth.getPrincipal() == null) {
+        AuthPrincipal user = principal(auth);
+        if (user == null) {
             return false;
         }
+        return user.getId().equals(resourceOwnerId) || user.hasRole("ADMIN");
+    }
 
-        User user = (User) auth.getPrincipal();
-        
-        // Simple ownership check - in a full implementation, 
-        // you would also check for admin role
-        return user.getId().equals(resourceOwnerId);
+    private AuthPrincipal principal(Authentication auth) {
+        if (auth == null || !(auth.getPrincipal() instanceof AuthPrincipal)) {
+            return null;
+        }
+        return (AuthPrincipal) auth.getPrincipal();
     }
-}
\ No newline at end of file
+}
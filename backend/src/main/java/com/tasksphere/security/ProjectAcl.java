@@ -0,0 +1,81 @@
+package com.tasksphere.security;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the projects one user can see and what they may do there
+ *
+ * Project ids are held in a sorted long[] with a parallel flag array, so a check
+ * is a binary search over a few dozen longs with no allocation.
+ */
+public final class ProjectAcl {
+    static final byte MEMBER = 1;
+    static final byte MANAGER = 2;
+    static final byte OWNER = 4;
+
+    public static final ProjectAcl EMPTY = new ProjectAcl(new long[0], new byte[0], 0L);
+
+    private final long[] projectIds;
+    private final byte[] flags;
+    private final long loadedAt;
+
+    ProjectAcl(long[] projectIds, byte[] flags, long loadedAt) {
+        this.projectIds = projectIds;
+        this.flags = flags;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * @param projectIds Project of each entry, in any order and possibly repeated
+     * @param roles Team role name of each entry, or OWNER for owned projects
+     */
+    static ProjectAcl of(long[] projectIds, String[] roles, long loadedAt) {
+        long[] ids = projectIds.clone();
+        Arrays.sort(ids);
+        int n = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (n == 0 || ids[n - 1] != ids[i]) {
+                ids[n++] = ids[i];
+            }
+        }
+        ids = Arrays.copyOf(ids, n);
+
+        byte[] flags = new byte[n];
+        for (int i = 0; i < projectIds.length; i++) {
+            int at = Arrays.binarySearch(ids, projectIds[i]);
+            flags[at] |= flag(roles[i]);
+        }
+        return new ProjectAcl(ids, flags, loadedAt);
+    }
+
+    private static byte flag(String role) {
+        return switch (role) {
+            case "OWNER" -> OWNER;
+            case "MANAGER" -> (byte) (MANAGER | MEMBER);
+            default -> MEMBER;
+        };
+    }
+
+    public boolean canAccess(long projectId) {
+        return Arrays.binarySearch(projectIds, projectId) >= 0;
+    }
+
+    /**
+     * True for owners and team managers
+     */
+    public boolean canManage(long projectId) {
+        int at = Arrays.binarySearch(projectIds, projectId);
+        return at >= 0 && (flags[at] & (OWNER | MANAGER)) != 0;
+    }
+
+    /**
+     * Visible project ids in ascending order
+     */
+    public long[] projectIds() {
+        return projectIds.clone();
+    }
+
+    long loadedAt() {
+        return loadedAt;
+    }
+}
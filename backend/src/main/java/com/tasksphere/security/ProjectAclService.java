@@ -0,0 +1,157 @@
+package com.tasksphere.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tasksphere.domain.project.TeamMemberRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user project ACLs (team_members roles plus ownership), cached in memory
+ *
+ * An ACL is loaded with one query on first use and then answers permission
+ * checks without touching the database. Membership and ownership changes
+ * invalidate the affected users after commit, on every replica via Redis.
+ * Entries also expire after maxAge as a safety net for missed broadcasts.
+ *
+ * Loads run outside any map lock. Each invalidation bumps a generation counter
+ * (striped by user id) before removing the entry, and a load is only cached
+ * if its stripe's generation is unchanged, so an ACL read before an
+ * invalidation can never be installed after it.
+ */
+@Component
+@Slf4j
+public class ProjectAclService implements MessageListener {
+
+    public static final String CHANNEL = "acl.invalidations";
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final TeamMemberRepository members;
+    private final StringRedisTemplate redis;
+    private final Map<Long, ProjectAcl> cache = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Value("${app.security.acl-cache-size:50000}")
+    private int maxEntries;
+
+    @Value("${app.security.acl-max-age-ms:600000}")
+    private long maxAgeMs;
+
+    public ProjectAclService(TeamMemberRepository members, StringRedisTemplate redis, MeterRegistry meterRegistry) {
+        this.members = members;
+        this.redis = redis;
+        Gauge.builder("acl.cache.size", cache, Map::size)
+                .description("Users with a cached project ACL")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param userId The user ID
+     * @return the user's ACL, loading it if not cached or expired
+     */
+    public ProjectAcl acl(Long userId) {
+        ProjectAcl acl = cache.get(userId);
+        long now = System.currentTimeMillis();
+        if (acl != null && now - acl.loadedAt() < maxAgeMs) {
+            return acl;
+        }
+        if (cache.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        ProjectAcl loaded = load(userId, now);
+        // Checked under the bin lock: an invalidation that bumped the generation first makes us skip
+        // the install, and one that bumps it after removes our entry once we release the lock
+        cache.compute(userId, (id, current) -> generations.get(stripe) != generation ? current : loaded);
+        return loaded;
+    }
+
+    private ProjectAcl load(Long userId, long now) {
+        List<TeamMemberRepository.AclEntry> rows = members.findAcl(userId);
+        long[] projectIds = new long[rows.size()];
+        String[] roles = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            projectIds[i] = rows.get(i).getProjectId();
+            roles[i] = rows.get(i).getRole();
+        }
+        return ProjectAcl.of(projectIds, roles, now);
+    }
+
+    private void evictExpired(long now) {
+        cache.values().removeIf(acl -> now - acl.loadedAt() >= maxAgeMs);
+        if (cache.size() >= maxEntries) {
+            // Still full of live entries: start over rather than track recency on the hot path
+            cache.clear();
+        }
+    }
+
+    /**
+     * Drop cached ACLs of the given users on all replicas once the current transaction commits
+     */
+    public void invalidate(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast(ids);
+                }
+            });
+        } else {
+            broadcast(ids);
+        }
+    }
+
+    private void evict(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        cache.remove(userId);
+    }
+
+    private static int stripe(Long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (GENERATION_STRIPES - 1);
+    }
+
+    private void broadcast(List<Long> userIds) {
+        userIds.forEach(this::evict);
+        try {
+            redis.convertAndSend(CHANNEL, String.join(",", userIds.stream().map(String::valueOf).toList()));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast ACL invalidation for users {}: {}", userIds, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String id : body.split(",")) {
+            try {
+                evict(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed ACL invalidation: {}", body);
+                return;
+            }
+        }
+    }
+}
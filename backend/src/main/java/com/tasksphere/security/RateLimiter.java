@@ -1,39 +1,38 @@
 package com.tasksphere.security;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Component;
 
-import lombok.Data;
+import com.tasksphere.config.AppProperties;
+import com.tasksphere.security.ratelimit.RateLimitDecision;
+import com.tasksphere.security.ratelimit.RequestRateLimiter;
+import com.tasksphere.security.ratelimit.TokenBucketTable;
 
 /**
- * Simple in-memory rate limiter for brute-force protection
- * For production, consider using Redis-based rate limiting
+ * In-memory rate limiter for brute-force protection
+ *
+ * Login attempts are a token bucket per email: MAX_LOGIN_ATTEMPTS tries, then the
+ * account is locked until a token refills, one every LOCKOUT_MINUTES. Buckets live in a fixed-size table, so a credential
+ * stuffing run cannot grow memory and no periodic cleanup is needed.
+ * API rate limits are delegated to the cluster-wide {@link RequestRateLimiter}
  */
 @Component
 public class RateLimiter {
     
-    private final Map<String, AttemptRecord> attempts = new ConcurrentHashMap<>();
     private static final int MAX_LOGIN_ATTEMPTS = 5;
     private static final int MAX_API_REQUESTS = 100; // per minute
     private static final int LOCKOUT_MINUTES = 15;
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long LOCKOUT_NANOS = LOCKOUT_MINUTES * MINUTE_NANOS;
     
-    @Data
-    static class AttemptRecord {
-        private int count;
-        private LocalDateTime firstAttempt;
-        private LocalDateTime lastAttempt;
-        private boolean locked;
-        
-        public AttemptRecord() {
-            this.count = 1;
-            this.firstAttempt = LocalDateTime.now();
-            this.lastAttempt = LocalDateTime.now();
-            this.locked = false;
-        }
+    private final RequestRateLimiter requestRateLimiter;
+    private final TokenBucketTable loginAttempts;
+    
+    public RateLimiter(RequestRateLimiter requestRateLimiter, AppProperties props) {
+        this.requestRateLimiter = requestRateLimiter;
+        this.loginAttempts = new TokenBucketTable(props.getSecurity().getRateLimitTableSize());
     }
     
     /**
@@ -42,48 +41,16 @@ public class RateLimiter {
      * @throws RuntimeException if too many attempts
      */
     public void checkLoginAttempts(String email) {
-        AttemptRecord record = attempts.get(email);
+        long remaining = loginAttempts.tryTake(email, MAX_LOGIN_ATTEMPTS, LOCKOUT_NANOS);
         
-        if (record == null) {
-            attempts.put(email, new AttemptRecord());
-            return;
-        }
-        
-        // Check if account is locked
-        if (record.isLocked()) {
-            long minutesSinceLock = ChronoUnit.MINUTES.between(record.getLastAttempt(), LocalDateTime.now());
-            if (minutesSinceLock < LOCKOUT_MINUTES) {
-                throw new RuntimeException(
-                    String.format("Account locked due to too many failed login attempts. Try again in %d minutes.", 
-                    LOCKOUT_MINUTES - minutesSinceLock)
-                );
-            } else {
-                // Unlock after timeout
-                attempts.remove(email);
-                attempts.put(email, new AttemptRecord());
-                return;
-            }
-        }
-        
-        // Check if within rate limit window (last hour)
-        long minutesSinceFirst = ChronoUnit.MINUTES.between(record.getFirstAttempt(), LocalDateTime.now());
-        if (minutesSinceFirst > 60) {
-            // Reset counter after 1 hour
-            attempts.put(email, new AttemptRecord());
-            return;
-        }
-        
-        // Increment attempt count
-        record.setCount(record.getCount() + 1);
-        record.setLastAttempt(LocalDateTime.now());
-        
-        if (record.getCount() >= MAX_LOGIN_ATTEMPTS) {
-            record.setLocked(true);
+        if (remaining < 0) {
+            long minutes = (-remaining + MINUTE_NANOS - 1) / MINUTE_NANOS;
             throw new RuntimeException(
-                String.format("Too many failed login attempts (%d). Account locked for %d minutes.", 
-                MAX_LOGIN_ATTEMPTS, LOCKOUT_MINUTES)
+                String.format("Too many failed login attempts (%d). Account locked, try again in %d minutes.", 
+                MAX_LOGIN_ATTEMPTS, minutes)
             );
         }
+        // remaining == 0 is the last allowed attempt; the next one is locked out
     }
     
     /**
@@ -92,27 +59,9 @@ public class RateLimiter {
      * @throws RuntimeException if rate limit exceeded
      */
     public void checkApiRateLimit(String identifier) {
-        String key = "api_" + identifier;
-        AttemptRecord record = attempts.get(key);
-        
-        if (record == null) {
-            attempts.put(key, new AttemptRecord());
-            return;
-        }
-        
-        // Check if within rate limit window (last minute)
-        long minutesSinceFirst = ChronoUnit.MINUTES.between(record.getFirstAttempt(), LocalDateTime.now());
-        if (minutesSinceFirst >= 1) {
-            // Reset counter after 1 minute
-            attempts.put(key, new AttemptRecord());
-            return;
-        }
-        
-        // Increment request count
-        record.setCount(record.getCount() + 1);
-        record.setLastAttempt(LocalDateTime.now());
-        
-        if (record.getCount() > MAX_API_REQUESTS) {
+        RateLimitDecision decision = requestRateLimiter.tryAcquire(
+                "api:" + identifier, MAX_API_REQUESTS, Duration.ofMinutes(1));
+        if (!decision.isAllowed()) {
             throw new RuntimeException(
                 String.format("API rate limit exceeded (%d requests per minute). Please slow down.", MAX_API_REQUESTS)
             );
@@ -124,26 +73,15 @@ public class RateLimiter {
      * @param email User email
      */
     public void resetLoginAttempts(String email) {
-        attempts.remove(email);
+        loginAttempts.reset(email);
     }
     
     /**
-     * Get current attempt count for an identifier
-     * @param identifier Email or API identifier
-     * @return current attempt count
-     */
-    public int getCurrentAttempts(String identifier) {
-        AttemptRecord record = attempts.get(identifier);
-        return record != null ? record.getCount() : 0;
-    }
-    
-    /**
-     * Clean up old records (should be called periodically)
+     * Get current login attempt count for an email
+     * @param email User email
+     * @return attempts counted against the current lockout budget
      */
-    public void cleanup() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        attempts.entrySet().removeIf(entry -> 
-            entry.getValue().getLastAttempt().isBefore(cutoff)
-        );
+    public int getCurrentAttempts(String email) {
+        return (int) (MAX_LOGIN_ATTEMPTS - loginAttempts.available(email, MAX_LOGIN_ATTEMPTS, LOCKOUT_NANOS));
     }
-}
\ No newline at end of file
+}
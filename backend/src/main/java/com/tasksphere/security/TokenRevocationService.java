@@ -0,0 +1,90 @@
+package com.tasksphere.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Early invalidation of access tokens without a per-request database lookup
+ *
+ * Keeps a per-user "revoked through" watermark (epoch milliseconds) in memory.
+ * Access tokens issued at or before the watermark are rejected. Issue times
+ * come from the tokens' iat_ms claim, so a token from a re-login right after
+ * a logout is issued after the watermark and stays valid. Tokens without the
+ * claim fall back to the start of their iat second. Replica clocks must agree
+ * to well within the time between a logout and the next login. Watermarks only
+ * need to live as long as an access token, so the map stays small. Revocations
+ * are broadcast over Redis so every replica applies them; refresh tokens are
+ * invalidated durably through the users.token_version column.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+
+    // Watermarks are milliseconds; the old channel carried seconds
+    public static final String CHANNEL = "auth.revocations.ms";
+
+    private final StringRedisTemplate redis;
+
+    private final Map<Long, Long> revokedThrough = new ConcurrentHashMap<>();
+
+    /**
+     * Revoke every access token issued to a user up to now, on all replicas
+     * @param userId The user ID
+     */
+    public void revokeAll(Long userId) {
+        long now = System.currentTimeMillis();
+        apply(userId, now);
+        try {
+            redis.convertAndSend(CHANNEL, userId + ":" + now);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast token revocation for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * @param userId The user ID from the token
+     * @param issuedAt Token issue time in epoch milliseconds
+     * @return true if the token was issued at or before the user's revocation watermark
+     */
+    public boolean isRevoked(Long userId, long issuedAt) {
+        if (revokedThrough.isEmpty()) {
+            return false;
+        }
+        Long watermark = revokedThrough.get(userId);
+        return watermark != null && issuedAt <= watermark;
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf(':');
+        if (sep <= 0) {
+            return;
+        }
+        try {
+            apply(Long.valueOf(body.substring(0, sep)), Long.parseLong(body.substring(sep + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message: {}", body);
+        }
+    }
+
+    private void apply(Long userId, long watermark) {
+        revokedThrough.merge(userId, watermark, Math::max);
+
+        // Watermarks older than the access token lifetime can no longer match a live token
+        long cutoff = watermark - JwtTokenUtil.ACCESS_EXP_MS;
+        revokedThrough.values().removeIf(w -> w < cutoff);
+    }
+}
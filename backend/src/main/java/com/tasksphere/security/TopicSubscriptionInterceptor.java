@@ -0,0 +1,102 @@
+package com.tasksphere.security;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import com.tasksphere.domain.issue.IssueRepository;
+import com.tasksphere.domain.sprint.SprintRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Authorizes STOMP SUBSCRIBE frames to broker topics
+ *
+ * /topic/project.{id}, /topic/issue.{id} and /topic/sprint.{id} need access to
+ * the owning project, checked against the cached ACL; /topic/user.{id} is only
+ * for that user. Any other destination under the broker's /topic prefix is
+ * refused: the simple broker matches that prefix with a plain startsWith and
+ * treats subscriptions as Ant patterns, so a pattern such as /topic** would
+ * otherwise receive every topic. Wildcards are refused on any destination.
+ * A rejected frame fails with AccessDeniedException, which the client
+ * receives as an ERROR frame.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final String BROKER_PREFIX = "/topic";
+    private static final Pattern TOPIC = Pattern.compile("^/topic/(project|issue|sprint|user)\\.(\\d+)$");
+
+    private final ProjectAclService acls;
+    private final IssueRepository issues;
+    private final SprintRepository sprints;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.SUBSCRIBE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return message;
+        }
+        if (destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0) {
+            throw new AccessDeniedException("Wildcard subscriptions are not allowed: " + destination);
+        }
+        if (!destination.startsWith(BROKER_PREFIX)) {
+            return message;
+        }
+
+        // Set by WebSocketAuthInterceptor at handshake
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        Object user = attributes != null ? attributes.get("user") : null;
+        if (!(user instanceof AuthPrincipal principal)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        if (!canSubscribe(principal, destination)) {
+            log.debug("Refused subscription of user {} to {}", principal.getId(), destination);
+            throw new AccessDeniedException("No access to " + destination);
+        }
+        return message;
+    }
+
+    private boolean canSubscribe(AuthPrincipal user, String destination) {
+        Matcher m = TOPIC.matcher(destination);
+        if (!m.matches()) {
+            return false;
+        }
+        Long id;
+        try {
+            id = Long.valueOf(m.group(2));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        String kind = m.group(1);
+        if (kind.equals("user")) {
+            return id.equals(user.getId());
+        }
+        Optional<Long> projectId = switch (kind) {
+            case "project" -> Optional.of(id);
+            case "issue" -> issues.findProjectIdById(id);
+            case "sprint" -> sprints.findProjectIdById(id);
+            default -> Optional.empty();
+        };
+        return projectId
+                .map(p -> user.hasRole("ADMIN") || acls.acl(user.getId()).canAccess(p))
+                .orElse(false);
+    }
+}
@@ -1,61 +1,105 @@
 package com.tasksphere.security;
 
-import java.net.URI;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import com.tasksphere.domain.user.User;
-import com.tasksphere.domain.user.UserRepository;
+import com.tasksphere.config.AppProperties;
+import com.tasksphere.metrics.WebSocketSessionMetrics;
 
 import io.jsonwebtoken.Claims;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * WebSocket handshake interceptor for JWT authentication
  * Validates JWT token during WebSocket connection establishment
+ *
+ * Handshakes pass the per-node admission limit first. Clients reconnecting
+ * after losing a session add ?resume= with the resume token of that session
+ * (subscribe to /app/session/resume-token) to be admitted first; the token
+ * must belong to the user who authenticates. Clients authenticate
+ * with a short-lived ?ticket= from POST /api/auth/ws-ticket, or with their
+ * access token (?token= or Authorization header). Verified access tokens are
+ * cached until they expire, so a client reconnecting with the same token is
+ * admitted without parsing it again; revocation is still checked every time.
+ * Nothing here touches the database.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class WebSocketAuthInterceptor implements HandshakeInterceptor {
 
     private final JwtTokenUtil jwt;
-    private final UserRepository users;
+    private final TokenRevocationService revocations;
+    private final HandshakeAdmission admission;
+    private final WebSocketSessionMetrics sessionMetrics;
+    private final int maxCachedTokens;
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+
+    public WebSocketAuthInterceptor(JwtTokenUtil jwt, TokenRevocationService revocations,
+                                    HandshakeAdmission admission, WebSocketSessionMetrics sessionMetrics,
+                                    AppProperties properties, MeterRegistry meterRegistry) {
+        this.jwt = jwt;
+        this.revocations = revocations;
+        this.admission = admission;
+        this.sessionMetrics = sessionMetrics;
+        this.maxCachedTokens = properties.getRealtime().getHandshakeCacheSize();
+        Gauge.builder("realtime.handshake.cache.size", principals, Map::size)
+                .description("Verified access tokens cached for WebSocket handshakes")
+                .register(meterRegistry);
+    }
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
                                    WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String resume = getParameter(request, "resume");
+        Long resumingUserId = resume != null ? resumingUser(resume) : null;
+        int retryAfter = admission.tryAdmit(resumingUserId != null);
+        if (retryAfter > 0) {
+            sessionMetrics.recordRejected("admission");
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            log.debug("WebSocket handshake rejected by admission limit, retry after {}s", retryAfter);
+            return false;
+        }
+
         try {
-            String token = getToken(request);
-            if (token == null) {
-                log.warn("WebSocket connection attempt without token");
+            AuthPrincipal principal = authenticate(request);
+            if (principal == null) {
+                sessionMetrics.recordRejected("unauthorized");
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            if (resumingUserId != null && !resumingUserId.equals(principal.getId())) {
+                // Someone else's resume token: it bought priority it was not entitled to
+                sessionMetrics.recordRejected("resume_mismatch");
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
                 return false;
             }
 
-            // Validate JWT token
-            Claims claims = jwt.validate(token);
-            String email = claims.getSubject();
-            
-            // Load user from database
-            User user = users.findByEmail(email).orElseThrow(() -> 
-                new RuntimeException("User not found: " + email));
-            
-            // Store user in WebSocket session attributes
-            attributes.put("user", user);
-            attributes.put("userId", user.getId());
-            
-            log.info("WebSocket connection authenticated for user: {}", email);
+            // Store principal in WebSocket session attributes
+            attributes.put("user", principal);
+            attributes.put("userId", principal.getId());
+
+            log.debug("WebSocket connection authenticated for user: {}", principal.getEmail());
             return true;
-            
+
         } catch (Exception e) {
-            log.error("WebSocket authentication failed: {}", e.getMessage());
+            log.debug("WebSocket authentication failed: {}", e.getMessage());
+            sessionMetrics.recordRejected("unauthorized");
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
             return false;
         }
     }
@@ -66,6 +110,68 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
         // Nothing to do after handshake
     }
 
+    /**
+     * @return the caller's principal, or null without credentials or with a revoked token
+     */
+    private AuthPrincipal authenticate(ServerHttpRequest request) {
+        AuthPrincipal principal;
+        String ticket = getParameter(request, "ticket");
+        if (ticket != null) {
+            principal = jwt.validateWsTicket(ticket);
+        } else {
+            String token = getToken(request);
+            if (token == null) {
+                log.debug("WebSocket connection attempt without token");
+                return null;
+            }
+            principal = verify(token);
+        }
+
+        if (revocations.isRevoked(principal.getId(), principal.getIssuedAt())) {
+            log.debug("WebSocket connection attempt with revoked token for user: {}", principal.getEmail());
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * @return the user id of a valid resume token, or null; an invalid one just means no priority
+     */
+    private Long resumingUser(String token) {
+        try {
+            return jwt.validateResumeToken(token);
+        } catch (Exception e) {
+            log.debug("Ignoring invalid resume token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Principal of an access token, from the cache while the token is unexpired
+     */
+    private AuthPrincipal verify(String token) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principals.get(token);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.principal();
+        }
+
+        Claims claims = jwt.validate(token);
+        AuthPrincipal principal = jwt.toPrincipal(claims);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            if (principals.size() >= maxCachedTokens) {
+                principals.values().removeIf(c -> c.expiresAt() <= now);
+                if (principals.size() >= maxCachedTokens) {
+                    // Still full of live tokens: start over rather than track recency
+                    principals.clear();
+                }
+            }
+            principals.put(token, new CachedPrincipal(principal, expiration.getTime()));
+        }
+        return principal;
+    }
+
     /**
      * Extract JWT token from query parameter or Authorization header
      * @param request The HTTP request
@@ -73,26 +179,34 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
      */
     private String getToken(ServerHttpRequest request) {
         // First, try to get token from query parameter: /ws?token=...
-        URI uri = request.getURI();
-        String query = uri.getQuery();
-        if (query != null && query.contains("token=")) {
-            String[] params = query.split("&");
-            for (String param : params) {
-                if (param.startsWith("token=")) {
-                    return param.substring(6); // Remove "token=" prefix
-                }
-            }
+        String token = getParameter(request, "token");
+        if (token != null) {
+            return token;
         }
-        
+
         // Second, try to get token from Authorization header
-        List<String> authHeaders = request.getHeaders().get("Authorization");
+        List<String> authHeaders = request.getHeaders().get(HttpHeaders.AUTHORIZATION);
         if (authHeaders != null && !authHeaders.isEmpty()) {
             String authHeader = authHeaders.get(0);
             if (authHeader.startsWith("Bearer ")) {
                 return authHeader.substring(7); // Remove "Bearer " prefix
             }
         }
-        
+
         return null;
     }
-}
\ No newline at end of file
+
+    private static String getParameter(ServerHttpRequest request, String name) {
+        String value;
+        if (request instanceof ServletServerHttpRequest servlet) {
+            // Already parsed by the container
+            value = servlet.getServletRequest().getParameter(name);
+        } else {
+            value = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(name);
+        }
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    private record CachedPrincipal(AuthPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.tasksphere.security.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+
+import com.tasksphere.config.AppProperties;
+
+/**
+ * Per-node token bucket limiter, used as the fallback when Redis is unavailable
+ *
+ * Buckets live in a fixed-size {@link TokenBucketTable}, so checks are lock-free,
+ * allocation-free and memory stays bounded under key floods.
+ */
+@Component
+public class LocalRequestRateLimiter implements RequestRateLimiter {
+
+    private final TokenBucketTable buckets;
+
+    public LocalRequestRateLimiter(AppProperties props) {
+        this.buckets = new TokenBucketTable(props.getSecurity().getRateLimitTableSize());
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, Duration window) {
+        int capacity = Math.min(limit, TokenBucketTable.MAX_CAPACITY);
+        long result = buckets.tryTake(key, capacity, window.toNanos() / capacity);
+        return result >= 0
+                ? RateLimitDecision.allow(result)
+                : RateLimitDecision.reject(-result / 1_000_000L);
+    }
+}
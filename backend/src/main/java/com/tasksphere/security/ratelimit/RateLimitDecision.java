@@ -0,0 +1,28 @@
+package com.tasksphere.security.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a rate limit check
+ */
+@Getter
+@AllArgsConstructor
+public class RateLimitDecision {
+
+    private final boolean allowed;
+    private final long remaining;
+
+    /**
+     * Milliseconds until a permit becomes available (0 when allowed)
+     */
+    private final long retryAfterMillis;
+
+    public static RateLimitDecision allow(long remaining) {
+        return new RateLimitDecision(true, remaining, 0L);
+    }
+
+    public static RateLimitDecision reject(long retryAfterMillis) {
+        return new RateLimitDecision(false, 0L, Math.max(1L, retryAfterMillis));
+    }
+}
@@ -0,0 +1,78 @@
+package com.tasksphere.security.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.tasksphere.config.AppProperties;
+import com.tasksphere.security.AuthPrincipal;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enforces the per-minute API limit for every request
+ * Runs after JWT authentication so authenticated callers are limited per user,
+ * anonymous callers per client IP. Rejections get 429 with a Retry-After header.
+ * Behind the ingress, getRemoteAddr() is the forwarded client address, since
+ * server.forward-headers-strategy is native and Tomcat trusts X-Forwarded-For
+ * from internal proxies only.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final RequestRateLimiter limiter;
+    private final AppProperties props;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        String path = req.getRequestURI();
+        return "OPTIONS".equals(req.getMethod())
+                || path.startsWith("/actuator/")
+                || path.startsWith("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res,
+                                    FilterChain chain) throws ServletException, IOException {
+        int limit = props.getSecurity().getRateLimitApiRequests();
+        RateLimitDecision decision = limiter.tryAcquire(keyFor(req), limit, WINDOW);
+
+        res.setHeader("X-RateLimit-Limit", String.valueOf(limit));
+        res.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        if (decision.isAllowed()) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        long retryAfterSeconds = (decision.getRetryAfterMillis() + 999) / 1000;
+        res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        res.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        res.getWriter().write(String.format(
+                "{\"timestamp\":\"%s\",\"status\":429,\"error\":\"Too Many Requests\"," +
+                "\"message\":\"API rate limit exceeded (%d requests per minute). Retry in %d s.\"}",
+                Instant.now(), limit, retryAfterSeconds));
+    }
+
+    private String keyFor(HttpServletRequest req) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthPrincipal principal) {
+            return "user:" + principal.getId();
+        }
+        return "ip:" + req.getRemoteAddr();
+    }
+}
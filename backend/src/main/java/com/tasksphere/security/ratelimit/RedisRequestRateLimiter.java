@@ -0,0 +1,105 @@
+package com.tasksphere.security.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide token bucket limiter backed by Redis
+ *
+ * The refill and take happen in a single Lua script using the Redis server clock,
+ * so limits are shared and atomic across replicas regardless of node clock skew.
+ * Falls back to the local limiter if Redis cannot be reached, and keeps using it
+ * for a short open-circuit window after a failure so that an outage does not add
+ * a failed round trip to every request.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "app.security", name = "rate-limit-backend", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisRequestRateLimiter implements RequestRateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    private static final long OPEN_CIRCUIT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    // KEYS[1] bucket key; ARGV[1] capacity, ARGV[2] refill tokens per ms
+    // Returns the remaining tokens when allowed, or -retryAfterMs (at most -1) when not
+    private static final String TOKEN_BUCKET_LUA = """
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tk', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil then
+              tokens = capacity
+              ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local allowed = 0
+            local retry = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              retry = math.ceil((1 - tokens) / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tk', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+            if allowed == 1 then
+              return math.floor(tokens)
+            end
+            return -math.max(1, retry)
+            """;
+
+    private final StringRedisTemplate redis;
+    private final LocalRequestRateLimiter fallback;
+    private final RedisScript<Long> script = new DefaultRedisScript<>(TOKEN_BUCKET_LUA, Long.class);
+    private final Counter fallbackCounter;
+
+    // System.nanoTime() before which Redis is not tried again
+    private volatile long closedAt = System.nanoTime();
+
+    public RedisRequestRateLimiter(StringRedisTemplate redis, LocalRequestRateLimiter fallback,
+                                   MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.fallback = fallback;
+        this.fallbackCounter = Counter.builder("ratelimit.redis.fallback")
+                .description("Rate limit checks served by the local limiter because Redis failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, Duration window) {
+        if (System.nanoTime() - closedAt < 0) {
+            fallbackCounter.increment();
+            return fallback.tryAcquire(key, limit, window);
+        }
+        double ratePerMs = (double) limit / window.toMillis();
+        try {
+            Long result = redis.execute(script, List.of(KEY_PREFIX + key),
+                    String.valueOf(limit), String.valueOf(ratePerMs));
+            if (result == null) {
+                throw new IllegalStateException("Empty rate limit script result");
+            }
+            return result >= 0 ? RateLimitDecision.allow(result) : RateLimitDecision.reject(-result);
+        } catch (Exception e) {
+            closedAt = System.nanoTime() + OPEN_CIRCUIT_NANOS;
+            fallbackCounter.increment();
+            log.debug("Redis rate limit check failed, using local limiter for 5 s: {}", e.getMessage());
+            return fallback.tryAcquire(key, limit, window);
+        }
+    }
+}
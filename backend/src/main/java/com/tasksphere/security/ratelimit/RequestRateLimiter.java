@@ -0,0 +1,19 @@
+package com.tasksphere.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * SPI for request rate limiting
+ * Implementations must be safe for concurrent use and atomic per key
+ */
+public interface RequestRateLimiter {
+
+    /**
+     * Try to take one permit for a key
+     * @param key Rate limit key (e.g. "user:42" or "ip:10.0.0.1")
+     * @param limit Maximum number of requests per window
+     * @param window Window over which the limit applies
+     * @return the decision, including remaining permits or a retry hint
+     */
+    RateLimitDecision tryAcquire(String key, int limit, Duration window);
+}
@@ -0,0 +1,235 @@
+package com.tasksphere.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free table of token buckets keyed by string
+ *
+ * Each bucket is a single long: the low 20 bits hold the token count and the
+ * high 44 bits the last refill time in ~1µs ticks (nanoTime >> 10). Refill and
+ * take are one CAS, and nothing is allocated per call.
+ *
+ * The table is 8-way set associative with a fixed number of slots, so memory
+ * is bounded no matter how many distinct keys are seen. When a set is full the
+ * fullest bucket is evicted, counting refill time, and among full ones the one
+ * idle longest; an evicted key starts again with a full bucket. Buckets that
+ * are full lose nothing by eviction, while drained ones (a locked-out login)
+ * are only evicted once every way in the set is drained, so flooding a set
+ * with new keys cannot reset a key's limit.
+ *
+ * A caller racing a reassignment of its slot may charge its take to the key
+ * that now owns the slot, so a key can occasionally lose a token it did not
+ * use.
+ *
+ * Ticks wrap after about 208 days; a bucket idle for longer than that may be
+ * refilled short once.
+ */
+public final class TokenBucketTable {
+
+    private static final int WAYS = 8;
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final int TICK_SHIFT = 10;
+    private static final long TICK_MASK = (1L << (Long.SIZE - TOKEN_BITS)) - 1;
+
+    /**
+     * State of a newly installed key: a full bucket. Never a valid packed state
+     * because capacity is always below TOKEN_MASK.
+     */
+    private static final long FRESH = -1L;
+
+    public static final int MAX_CAPACITY = (int) TOKEN_MASK - 1;
+
+    private final AtomicReferenceArray<String> keys;
+    private final AtomicLongArray states;
+    /**
+     * Key hash codes, written right after a key is installed. A reader racing an
+     * install may see a stale hash and miss the key, which at worst places the
+     * same key in a second way of the set; lookups return the first match.
+     */
+    private final int[] hashes;
+    private final int setMask;
+    private final long baseNanos = System.nanoTime();
+
+    /**
+     * @param slots Maximum number of keys tracked, rounded up to a power of two
+     */
+    public TokenBucketTable(int slots) {
+        int size = slots <= WAYS ? WAYS : Integer.highestOneBit(slots - 1) << 1;
+        this.keys = new AtomicReferenceArray<>(size);
+        this.states = new AtomicLongArray(size);
+        this.hashes = new int[size];
+        this.setMask = size / WAYS - 1;
+        for (int i = 0; i < size; i++) {
+            states.set(i, FRESH);
+        }
+    }
+
+    /**
+     * Take one token from a key's bucket
+     * @param key Bucket key
+     * @param capacity Bucket size (burst), at most {@link #MAX_CAPACITY}
+     * @param nanosPerToken Refill interval for one token
+     * @return tokens left after the take (>= 0), or the negated nanoseconds until
+     *         the next token when the bucket is empty
+     */
+    public long tryTake(String key, int capacity, long nanosPerToken) {
+        return tryTake(key, capacity, nanosPerToken, 0);
+    }
+
+    /**
+     * Take one token only if more than reserve tokens are available; the check and the take
+     * are the same CAS, so concurrent callers cannot dip into the reserve
+     * @param reserve Tokens that must stay in the bucket, below capacity
+     * @return tokens left after the take (>= reserve), or the negated nanoseconds until more
+     *         than reserve tokens are available
+     */
+    public long tryTake(String key, int capacity, long nanosPerToken, int reserve) {
+        long now = ticks();
+        long ticksPerToken = Math.max(1L, nanosPerToken >>> TICK_SHIFT);
+        int slot = slotFor(key, capacity, ticksPerToken, now);
+
+        while (true) {
+            long state = states.get(slot);
+            long tokens;
+            long last;
+            if (state == FRESH) {
+                tokens = capacity;
+                last = now;
+            } else {
+                tokens = state & TOKEN_MASK;
+                last = state >>> TOKEN_BITS;
+                long refill = ((now - last) & TICK_MASK) / ticksPerToken;
+                if (refill > 0) {
+                    if (tokens + refill >= capacity) {
+                        tokens = capacity;
+                        last = now;
+                    } else {
+                        // Only consume the time that produced whole tokens
+                        tokens += refill;
+                        last = (last + refill * ticksPerToken) & TICK_MASK;
+                    }
+                }
+            }
+
+            if (tokens <= reserve) {
+                long waitTicks = (reserve - tokens + 1) * ticksPerToken - ((now - last) & TICK_MASK);
+                return -Math.max(1L, waitTicks << TICK_SHIFT);
+            }
+            if (states.compareAndSet(slot, state, (last << TOKEN_BITS) | (tokens - 1))) {
+                return tokens - 1;
+            }
+        }
+    }
+
+    /**
+     * Tokens currently available to a key, without taking any
+     */
+    public long available(String key, int capacity, long nanosPerToken) {
+        int slot = find(key);
+        if (slot < 0) {
+            return capacity;
+        }
+        long state = states.get(slot);
+        if (state == FRESH) {
+            return capacity;
+        }
+        long ticksPerToken = Math.max(1L, nanosPerToken >>> TICK_SHIFT);
+        long refill = ((ticks() - (state >>> TOKEN_BITS)) & TICK_MASK) / ticksPerToken;
+        return Math.min(capacity, (state & TOKEN_MASK) + refill);
+    }
+
+    /**
+     * Refill a key's bucket completely
+     */
+    public void reset(String key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            states.set(slot, FRESH);
+        }
+    }
+
+    public int slots() {
+        return keys.length();
+    }
+
+    private long ticks() {
+        return ((System.nanoTime() - baseNanos) >>> TICK_SHIFT) & TICK_MASK;
+    }
+
+    private int setBase(int h) {
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return (h & setMask) * WAYS;
+    }
+
+    private boolean matches(int idx, String key, int h, String k) {
+        // The hash check avoids touching the stored key string for non-matching ways
+        return k == key || (k != null && hashes[idx] == h && key.equals(k));
+    }
+
+    private int find(String key) {
+        int h = key.hashCode();
+        int base = setBase(h);
+        for (int i = 0; i < WAYS; i++) {
+            if (matches(base + i, key, h, keys.get(base + i))) {
+                return base + i;
+            }
+        }
+        return -1;
+    }
+
+    private int slotFor(String key, int capacity, long ticksPerToken, long now) {
+        int h = key.hashCode();
+        int base = setBase(h);
+        long fullTicks = capacity * ticksPerToken;
+        while (true) {
+            int victim = -1;
+            String victimKey = null;
+            long victimFill = -1;
+            long victimAge = -1;
+
+            for (int i = 0; i < WAYS; i++) {
+                int idx = base + i;
+                String k = keys.get(idx);
+                if (k == null) {
+                    if (keys.compareAndSet(idx, null, key)) {
+                        hashes[idx] = h;
+                        return idx;
+                    }
+                    k = keys.get(idx);
+                }
+                if (matches(idx, key, h, k)) {
+                    return idx;
+                }
+                // Fill in refill ticks: tokens held plus time towards the next ones, capped at full
+                long state = states.get(idx);
+                long age;
+                long fill;
+                if (state == FRESH) {
+                    age = 0L;
+                    fill = fullTicks;
+                } else {
+                    age = (now - (state >>> TOKEN_BITS)) & TICK_MASK;
+                    long tokens = state & TOKEN_MASK;
+                    fill = tokens >= capacity || age >= fullTicks
+                            ? fullTicks : Math.min(fullTicks, tokens * ticksPerToken + age);
+                }
+                if (fill > victimFill || (fill == victimFill && age > victimAge)) {
+                    victimFill = fill;
+                    victimAge = age;
+                    victim = idx;
+                    victimKey = k;
+                }
+            }
+
+            if (victim >= 0 && keys.compareAndSet(victim, victimKey, key)) {
+                hashes[victim] = h;
+                states.set(victim, FRESH);
+                return victim;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.tasksphere.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tasksphere.config.AppProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rotates the monthly RANGE partitions of activity_log
+ *
+ * Keeps partitionsAhead months of empty partitions in front of the current
+ * month by splitting them off p_future, so inserts never land in the catch-all
+ * partition. Partitions entirely older than retentionMonths are either moved
+ * out to an activity_log_archive_* table with EXCHANGE PARTITION (a metadata
+ * swap, no row copy) or dropped.
+ *
+ * Does nothing if the table is not partitioned (e.g. dev schemas created by
+ * Hibernate). A MySQL named lock keeps replicas from running it concurrently.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityPartitionJob {
+
+    private static final String TABLE = "activity_log";
+    private static final String CATCH_ALL = "p_future";
+    private static final String LOCK_NAME = "tasksphere.activity_log.partitions";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbc;
+    private final AppProperties properties;
+
+    @Scheduled(initialDelayString = "PT30S", fixedDelayString = "${app.audit.partition-check-interval:PT6H}")
+    public void rotate() {
+        try {
+            jdbc.execute((ConnectionCallback<Void>) con -> {
+                try (Statement st = con.createStatement()) {
+                    if (!acquireLock(st)) {
+                        log.debug("Partition maintenance already running elsewhere");
+                        return null;
+                    }
+                    try {
+                        List<Partition> partitions = loadPartitions(st);
+                        if (partitions.isEmpty()) {
+                            log.debug("{} is not partitioned, skipping maintenance", TABLE);
+                            return null;
+                        }
+                        createAhead(st, partitions);
+                        expire(st, partitions);
+                    } finally {
+                        st.execute("DO RELEASE_LOCK('" + LOCK_NAME + "')");
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Activity log partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean acquireLock(Statement st) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SELECT GET_LOCK('" + LOCK_NAME + "', 0)")) {
+            return rs.next() && rs.getInt(1) == 1;
+        }
+    }
+
+    private List<Partition> loadPartitions(Statement st) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        try (ResultSet rs = st.executeQuery(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + TABLE + "' " +
+                "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION")) {
+            while (rs.next()) {
+                String bound = rs.getString(2);
+                partitions.add(new Partition(rs.getString(1),
+                        "MAXVALUE".equalsIgnoreCase(bound) ? Long.MAX_VALUE : Long.parseLong(bound)));
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Split empty monthly partitions off p_future up to partitionsAhead months past the current one
+     */
+    private void createAhead(Statement st, List<Partition> partitions) throws SQLException {
+        long highest = partitions.stream()
+                .mapToLong(Partition::upperBound)
+                .filter(b -> b != Long.MAX_VALUE)
+                .max()
+                .orElse(epoch(YearMonth.now(ZoneOffset.UTC)));
+
+        YearMonth next = YearMonth.from(LocalDate.ofEpochDay(highest / 86400));
+        YearMonth last = YearMonth.now(ZoneOffset.UTC).plusMonths(properties.getAudit().getPartitionsAhead());
+
+        StringBuilder defs = new StringBuilder();
+        for (YearMonth m = next; !m.isAfter(last); m = m.plusMonths(1)) {
+            defs.append("PARTITION p").append(m.format(MONTH))
+                .append(" VALUES LESS THAN (").append(epoch(m.plusMonths(1))).append("), ");
+        }
+        if (defs.length() == 0) {
+            return;
+        }
+
+        st.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO (" + defs +
+                "PARTITION " + CATCH_ALL + " VALUES LESS THAN MAXVALUE)");
+        log.info("Created {} partitions through p{}", TABLE, last.format(MONTH));
+    }
+
+    /**
+     * Archive or drop partitions whose rows are all older than the retention window
+     */
+    private void expire(Statement st, List<Partition> partitions) throws SQLException {
+        AppProperties.Audit config = properties.getAudit();
+        if (config.getRetentionMonths() <= 0) {
+            return;
+        }
+        long cutoff = epoch(YearMonth.now(ZoneOffset.UTC).minusMonths(config.getRetentionMonths()));
+
+        for (Partition p : partitions) {
+            if (p.upperBound() > cutoff) {
+                continue;
+            }
+            if (config.isArchiveExpired() && hasRows(st, p)) {
+                // Fails if the archive table already exists rather than swapping old data back in
+                String archive = TABLE + "_archive_" + p.name().replaceFirst("^p_?", "");
+                st.execute("CREATE TABLE " + archive + " LIKE " + TABLE);
+                st.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+                st.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + p.name() +
+                        " WITH TABLE " + archive + " WITHOUT VALIDATION");
+                log.info("Archived partition {} to {}", p.name(), archive);
+            }
+            st.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + p.name());
+            log.info("Dropped expired partition {}", p.name());
+        }
+    }
+
+    private boolean hasRows(Statement st, Partition p) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SELECT 1 FROM " + TABLE + " PARTITION (" + p.name() + ") LIMIT 1")) {
+            return rs.next();
+        }
+    }
+
+    private static long epoch(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Partition(String name, long upperBound) {
+    }
+}
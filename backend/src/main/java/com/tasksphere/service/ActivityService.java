@@ -1,18 +1,29 @@
 package com.tasksphere.service;
 
 import java.sql.Timestamp;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.tasksphere.domain.activity.ActivityLog;
 import com.tasksphere.domain.activity.ActivityLogRepository;
-import com.tasksphere.domain.user.User;
-import com.tasksphere.domain.user.UserRepository;
+import com.tasksphere.domain.activity.AuditRecord;
+import com.tasksphere.domain.comment.CommentRepository;
+import com.tasksphere.domain.issue.IssueRepository;
+import com.tasksphere.domain.sprint.SprintRepository;
 import com.tasksphere.dto.activity.ActivityView;
+import com.tasksphere.dto.common.CursorPage;
+import com.tasksphere.dto.common.KeysetCursor;
+import com.tasksphere.security.AuthPrincipal;
+import com.tasksphere.security.PermissionChecker;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,16 +32,51 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class ActivityService {
+    static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * How far before a since head a poll reads again; covers rows stamped before a newer
+     * row but committed after it (another replica's flush still in flight)
+     */
+    static final long SINCE_GRACE_MS = 5_000;
+
     private final ActivityLogRepository repo;
-    private final UserRepository userRepository;
+    private final AuditLogWriter auditWriter;
+    private final IssueRepository issues;
+    private final SprintRepository sprints;
+    private final CommentRepository comments;
+    private final PermissionChecker perm;
 
+    /**
+     * Newest activity of an entity, at most {@link #MAX_PAGE_SIZE} entries
+     * Kept for existing clients; use {@link #feed} to page further back
+     */
     public List<ActivityView> list(String entityType, Long entityId) {
-        return repo.findByEntityTypeAndEntityIdOrderByCreatedAtDesc(entityType, entityId)
-                .stream()
-                .map(a -> new ActivityView(a.getId(), a.getEntityType(), a.getEntityId(),
-                        a.getActor().getName(), a.getAction(),
-                        a.getFromValue(), a.getToValue(), a.getCreatedAt()))
-                .toList();
+        return feed(entityType, entityId, null, null, MAX_PAGE_SIZE).getItems();
+    }
+
+    /**
+     * Keyset-paginated activity feed of an entity, newest first
+     * Project, issue, sprint and comment feeds need access to the owning project;
+     * any other entity type (auth, admin, user events) is for admins only
+     *
+     * Polling with since is safe against the asynchronous writer: created_at is stamped
+     * when a row is written, not when it is queued, and the poll reads back
+     * {@link #SINCE_GRACE_MS} before the head, so it may repeat entries and clients dedupe by id
+     * @param cursor Cursor from the previous page, or null for the newest entries
+     * @param since Head cursor from an earlier response; newer entries, plus those of the grace window
+     * @param limit Page size, capped at {@link #MAX_PAGE_SIZE}
+     */
+    public CursorPage<ActivityView> feed(String entityType, Long entityId, String cursor, String since, int limit) {
+        checkFeedAccess(entityType, entityId, SecurityContextHolder.getContext().getAuthentication());
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        KeysetCursor after = sinceBound(since);
+
+        List<ActivityView> rows = repo.findEntityFeed(entityType, entityId,
+                before.getCreatedAt(), before.getId(), after.getCreatedAt(), after.getId(),
+                Limit.of(size + 1));
+        return toPage(rows, size, since);
     }
 
     /**
@@ -44,68 +90,83 @@ public class ActivityService {
      */
     public void logSecurityEvent(String action, String entityType, Long entityId, Long actorId, 
                                 String fromValue, String toValue) {
-        try {
-            ActivityLog activity = new ActivityLog();
-            activity.setAction(action);
-            activity.setEntityType(entityType);
-            activity.setEntityId(entityId);
-            activity.setFromValue(fromValue);
-            activity.setToValue(toValue);
-            activity.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
-            
-            if (actorId != null) {
-                User actor = userRepository.findById(actorId)
-                    .orElseThrow(() -> new RuntimeException("Actor not found: " + actorId));
-                activity.setActor(actor);
-            }
-            
-            repo.save(activity);
-            
-            // Also log to application logs for external monitoring
-            log.info("Security Event: {} on {} [{}] by user [{}] - {} -> {}", 
-                action, entityType, entityId, actorId, fromValue, toValue);
-                
-        } catch (Exception e) {
-            log.error("Failed to log security event: {}", e.getMessage(), e);
-        }
+        auditWriter.enqueue(new AuditRecord(entityType, entityId, null, actorId, null, action,
+                fromValue, toValue, isSecurityRelevant(action)));
+
+        // Also log to application logs for external monitoring
+        log.info("Security Event: {} on {} [{}] by user [{}] - {} -> {}", 
+            action, entityType, entityId, actorId, fromValue, toValue);
     }
 
     /**
      * Log authentication events
+     * Queued for asynchronous writing so login latency never includes the insert
      * @param action LOGIN_SUCCESS, LOGIN_FAILURE, LOGOUT, TOKEN_REFRESH
      * @param email User email
      * @param userId User ID (null for failed logins)
      * @param ipAddress Client IP address
      */
     public void logAuthEvent(String action, String email, Long userId, String ipAddress) {
-        try {
-            ActivityLog activity = new ActivityLog();
-            activity.setAction(action);
-            activity.setEntityType("AUTH");
-            activity.setEntityId(userId);
-            activity.setFromValue(email);
-            activity.setToValue(ipAddress);
-            activity.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
-            
-            if (userId != null) {
-                User actor = userRepository.findById(userId).orElse(null);
-                activity.setActor(actor);
-            }
-            
-            repo.save(activity);
-            
-            // Enhanced logging for security monitoring
-            if (action.contains("FAILURE")) {
-                log.warn("Authentication failure: {} for {} from IP {}", action, email, ipAddress);
-            } else {
-                log.info("Authentication success: {} for user {} from IP {}", action, email, ipAddress);
-            }
-            
-        } catch (Exception e) {
-            log.error("Failed to log auth event: {}", e.getMessage(), e);
+        auditWriter.enqueue(new AuditRecord("AUTH", userId, null, userId, null, action,
+                email, ipAddress, true));
+
+        // Enhanced logging for security monitoring
+        if (action.contains("FAILURE")) {
+            log.warn("Authentication failure: {} for {} from IP {}", action, email, ipAddress);
+        } else {
+            log.info("Authentication success: {} for user {} from IP {}", action, email, ipAddress);
+        }
+    }
+
+    /**
+     * Log a change to a project or one of its issues, sprints or comments
+     * The entry appears in the project activity stream and is pushed to project.{id} subscribers.
+     * Inside a transaction it is queued only once that transaction commits.
+     * @param projectId The owning project
+     * @param entityType PROJECT, ISSUE, SPRINT, COMMENT
+     * @param entityId The ID of the entity changed
+     * @param action The action performed (e.g., "ISSUE_CREATED")
+     * @param fromValue Previous value (for updates)
+     * @param toValue New value (for updates)
+     */
+    public void logProjectActivity(Long projectId, String entityType, Long entityId, String action,
+                                   String fromValue, String toValue) {
+        AuditRecord record = projectRecord(projectId, entityType, entityId, action, fromValue, toValue);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditWriter.enqueue(record);
+                }
+            });
+        } else {
+            auditWriter.enqueue(record);
         }
     }
 
+    /**
+     * Project activity entry by the current user, for {@link #logBulkActivity}
+     */
+    public AuditRecord projectRecord(Long projectId, String entityType, Long entityId, String action,
+                                     String fromValue, String toValue) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        AuthPrincipal actor = auth != null && auth.getPrincipal() instanceof AuthPrincipal
+                ? (AuthPrincipal) auth.getPrincipal() : null;
+
+        return new AuditRecord(entityType, entityId, projectId,
+                actor != null ? actor.getId() : null, actor != null ? actor.getName() : "System",
+                action, fromValue, toValue, isSecurityRelevant(action));
+    }
+
+    /**
+     * Log the per-row entries of a bulk change in the current transaction, in JDBC batches
+     * Skips the audit queue, so thousands of entries neither overflow it nor get dropped.
+     * Call it after the change itself, just before the transaction ends
+     */
+    public void logBulkActivity(List<AuditRecord> records) {
+        auditWriter.writeInTransaction(records);
+    }
+
     /**
      * Log data access events
      * @param entityType Type of data accessed
@@ -114,8 +175,8 @@ public class ActivityService {
      */
     public void logDataAccess(String entityType, Long entityId, String action) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.getPrincipal() instanceof User) {
-            User user = (User) auth.getPrincipal();
+        if (auth != null && auth.getPrincipal() instanceof AuthPrincipal) {
+            AuthPrincipal user = (AuthPrincipal) auth.getPrincipal();
             logSecurityEvent(action, entityType, entityId, user.getId(), null, null);
         }
     }
@@ -128,32 +189,89 @@ public class ActivityService {
      */
     public void logAdminAction(String action, Long targetUserId, String details) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.getPrincipal() instanceof User) {
-            User admin = (User) auth.getPrincipal();
+        if (auth != null && auth.getPrincipal() instanceof AuthPrincipal) {
+            AuthPrincipal admin = (AuthPrincipal) auth.getPrincipal();
             logSecurityEvent(action, "ADMIN", targetUserId, admin.getId(), null, details);
         }
     }
 
     /**
-     * Get security events for audit purposes
+     * Get security events for audit purposes, newest first
+     * Reads only the requested page through the is_security index
      * @param hours Number of hours to look back
-     * @return List of recent security events
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return One page of recent security events
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPage<ActivityView> getSecurityEvents(int hours, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Timestamp since = new Timestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours));
+
+        List<ActivityView> rows = repo.findSecurityEvents(since, after.getCreatedAt(), after.getId(),
+                Limit.of(size + 1));
+        return toPage(rows, size, null);
+    }
+
+    /**
+     * Keyset-paginated activity of a whole project across its issues, sprints and comments
+     * One indexed query on ix_al_project (project_id, created_at, id)
+     * @param cursor Cursor from the previous page, or null for the newest entries
+     * @param since Head cursor from an earlier response; polled as in {@link #feed}
+     * @param limit Page size, capped at {@link #MAX_PAGE_SIZE}
      */
-    public List<ActivityView> getSecurityEvents(int hours) {
-        return repo.findAll()
-                .stream()
-                .filter(a -> isSecurityRelevant(a.getAction()))
-                .filter(a -> a.getCreatedAt().toLocalDateTime().isAfter(LocalDateTime.now().minusHours(hours)))
-                .map(a -> new ActivityView(a.getId(), a.getEntityType(), a.getEntityId(),
-                        a.getActor() != null ? a.getActor().getName() : "System", 
-                        a.getAction(), a.getFromValue(), a.getToValue(), a.getCreatedAt()))
-                .toList();
+    @PreAuthorize("@perm.canAccessProject(#projectId, authentication)")
+    public CursorPage<ActivityView> projectFeed(Long projectId, String cursor, String since, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        KeysetCursor after = sinceBound(since);
+
+        List<ActivityView> rows = repo.findProjectFeed(projectId,
+                before.getCreatedAt(), before.getId(), after.getCreatedAt(), after.getId(),
+                Limit.of(size + 1));
+        return toPage(rows, size, since);
+    }
+
+    private static KeysetCursor sinceBound(String since) {
+        if (since == null || since.isBlank()) {
+            return KeysetCursor.ORIGIN;
+        }
+        KeysetCursor head = KeysetCursor.decode(since);
+        return new KeysetCursor(new Timestamp(head.getCreatedAt().getTime() - SINCE_GRACE_MS), 0L);
+    }
+
+    private void checkFeedAccess(String entityType, Long entityId, Authentication auth) {
+        Optional<Long> projectId = switch (entityType) {
+            case "PROJECT" -> Optional.ofNullable(entityId);
+            case "ISSUE" -> issues.findProjectIdById(entityId);
+            case "SPRINT" -> sprints.findProjectIdById(entityId);
+            case "COMMENT" -> comments.findProjectIdById(entityId);
+            default -> Optional.empty();
+        };
+        boolean allowed = projectId.isPresent()
+                ? perm.canAccessProject(projectId.get(), auth)
+                : auth != null && auth.getPrincipal() instanceof AuthPrincipal p && p.hasRole("ADMIN");
+        if (!allowed) {
+            throw new AccessDeniedException("No access to " + entityType + " " + entityId + " activity");
+        }
+    }
+
+    private static CursorPage<ActivityView> toPage(List<ActivityView> rows, int size, String since) {
+        List<ActivityView> items = rows.size() > size ? rows.subList(0, size) : rows;
+        String next = rows.size() > size ? cursorOf(items.get(size - 1)) : null;
+        String head = items.isEmpty() ? since : cursorOf(items.get(0));
+        return new CursorPage<>(items, next, head);
+    }
+
+    private static String cursorOf(ActivityView view) {
+        return new KeysetCursor(view.getCreatedAt(), view.getId()).encode();
     }
 
     /**
      * Check if an action is security-relevant
      */
-    private boolean isSecurityRelevant(String action) {
+    static boolean isSecurityRelevant(String action) {
         return action.contains("LOGIN") || action.contains("AUTH") || 
                action.contains("DELETE") || action.contains("ADMIN") ||
                action.contains("ROLE") || action.contains("PERMISSION");
@@ -0,0 +1,331 @@
+package com.tasksphere.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tasksphere.config.AppProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.domain.activity.AuditRecord;
+import com.tasksphere.dto.common.KeysetCursor;
+import com.tasksphere.event.RealtimeEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous, batched writer for activity_log
+ *
+ * Callers enqueue into a bounded in-memory queue and return immediately. A
+ * single background thread drains the queue and writes JDBC batch inserts,
+ * one transaction per batch, whenever batchSize events are queued or
+ * flushIntervalMs has passed. What happens when the queue is full is set by
+ * app.audit.overflow. The queue is drained on shutdown.
+ *
+ * created_at is stamped in whole seconds (the column's precision) when a
+ * batch is written, not when it was queued, so rows reach the table in about
+ * the order of their timestamps and feed polling does not skip late rows.
+ *
+ * Once a batch is written, its project activity is pushed to the matching
+ * project.{id} channel as one activity.appended event per project. Each entry
+ * carries its row id and feed cursor, so clients can dedupe against the REST
+ * feed and move their since head forward from a push.
+ *
+ * Bulk operations that produce one entry per changed row write them with
+ * {@link #writeInTransaction} instead, so they can never overflow the queue.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    // from/to are JSON columns; JSON_QUOTE stores free text as a JSON string and keeps NULL as NULL
+    private static final String INSERT_SQL =
+            "INSERT INTO activity_log (entity_type, entity_id, project_id, actor_id, action, from_value, to_value, " +
+            "is_security, created_at) VALUES (?, ?, ?, ?, ?, JSON_QUOTE(?), JSON_QUOTE(?), ?, ?)";
+
+    static final String ACTIVITY_EVENT = "activity.appended";
+
+    private final JdbcTemplate jdbc;
+    private final RealtimePublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final AppProperties.Audit config;
+    private final BlockingQueue<AuditRecord> queue;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                          RealtimePublisher publisher, ObjectMapper objectMapper,
+                          AppProperties properties, MeterRegistry meterRegistry) {
+        this.jdbc = jdbc;
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.config = properties.getAudit();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.events.written")
+                .description("Audit events written to activity_log")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+                .description("Audit events discarded because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.events.failed")
+                .description("Audit events that could not be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        try {
+            worker.join(config.getShutdownTimeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Audit writer stopped with {} events still queued", queue.size());
+        }
+    }
+
+    /**
+     * Queue an event for writing, applying the configured overflow policy when full
+     */
+    public void enqueue(AuditRecord record) {
+        if (queue.offer(record)) {
+            return;
+        }
+
+        switch (config.getOverflow()) {
+            case DROP_OLDEST -> {
+                while (!queue.offer(record)) {
+                    if (queue.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(record, config.getBlockTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                        droppedCounter.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCounter.increment();
+                }
+            }
+            case CALLER_RUNS -> write(List.of(record));
+            default -> droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Write records with the caller's transaction in JDBC batches of batchSize, bypassing the queue
+     * They commit or roll back with the change they describe and are not pushed to
+     * project subscribers; the bulk operation's own outbox event covers that. Call it
+     * once the change itself is done, so created_at is stamped close to the commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void writeInTransaction(List<AuditRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Timestamp writtenAt = wholeSecondsNow();
+        jdbc.batchUpdate(INSERT_SQL, records, Math.max(1, config.getBatchSize()), (ps, r) -> bind(ps, r, writtenAt));
+        writtenCounter.increment(records.size());
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, config.getBatchSize());
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalMs());
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Fill the batch until it is full or the flush interval is up
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                log.error("Audit writer error: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timestamp writtenAt = wholeSecondsNow();
+        List<Long> ids;
+        try {
+            ids = tx.execute(status -> insertReturningIds(batch, writtenAt));
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                failedCounter.increment();
+                log.error("Failed to write audit event {}: {}", batch.get(0).getAction(), e.getMessage());
+                return;
+            }
+            // One bad row (e.g. an unknown actor) fails the whole batch; retry row by row to isolate it
+            log.warn("Audit batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (AuditRecord record : batch) {
+                write(List.of(record));
+            }
+            return;
+        }
+        publishTail(batch, ids, writtenAt);
+    }
+
+    /**
+     * One JDBC batch insert
+     * @return generated ids, in batch order
+     */
+    private List<Long> insertReturningIds(List<AuditRecord> batch, Timestamp writtenAt) {
+        PreparedStatementCreator insert = con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+        return jdbc.execute(insert, ps -> {
+            for (AuditRecord r : batch) {
+                bind(ps, r, writtenAt);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            List<Long> ids = new ArrayList<>(batch.size());
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getLong(1));
+                }
+            }
+            if (ids.size() != batch.size()) {
+                throw new IllegalStateException("Expected " + batch.size() + " generated ids, got " + ids.size());
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Push written project activity to project.{id} subscribers, one event per project per batch
+     * The event id is derived from the first row id, so a re-delivered event has the same id
+     */
+    private void publishTail(List<AuditRecord> batch, List<Long> ids, Timestamp writtenAt) {
+        Map<Long, List<Map<String, Object>>> byProject = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            AuditRecord r = batch.get(i);
+            if (r.getProjectId() == null) {
+                continue;
+            }
+            Long id = ids.get(i);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", id);
+            entry.put("cursor", new KeysetCursor(writtenAt, id).encode());
+            entry.put("entityType", r.getEntityType());
+            entry.put("entityId", r.getEntityId());
+            entry.put("action", r.getAction());
+            entry.put("actor", r.getActorName());
+            entry.put("fromValue", r.getFromValue());
+            entry.put("toValue", r.getToValue());
+            entry.put("createdAt", writtenAt.getTime());
+            byProject.computeIfAbsent(r.getProjectId(), p -> new ArrayList<>()).add(entry);
+        }
+
+        byProject.forEach((projectId, entries) -> {
+            try {
+                String eventId = "activity." + projectId + "." + entries.get(0).get("id");
+                RealtimeEvent event = new RealtimeEvent(eventId, ACTIVITY_EVENT, projectId);
+                event.setPayload(objectMapper.writeValueAsString(entries));
+                publisher.publishProjectEvent(projectId, event);
+            } catch (Exception e) {
+                log.warn("Failed to publish activity tail for project {}: {}", projectId, e.getMessage());
+            }
+        });
+    }
+
+    private void bind(PreparedStatement ps, AuditRecord r, Timestamp createdAt) throws SQLException {
+        ps.setString(1, r.getEntityType());
+        setLong(ps, 2, r.getEntityId());
+        setLong(ps, 3, r.getProjectId());
+        setLong(ps, 4, r.getActorId());
+        ps.setString(5, r.getAction());
+        ps.setString(6, r.getFromValue());
+        ps.setString(7, r.getToValue());
+        ps.setBoolean(8, r.isSecurity());
+        ps.setTimestamp(9, createdAt);
+    }
+
+    private static Timestamp wholeSecondsNow() {
+        return new Timestamp(System.currentTimeMillis() / 1000 * 1000);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -5,15 +5,20 @@ import java.util.List;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.tasksphere.config.AppProperties;
 import com.tasksphere.domain.user.User;
 import com.tasksphere.domain.user.UserRepository;
 import com.tasksphere.dto.auth.AuthResponse;
 import com.tasksphere.dto.auth.LoginRequest;
 import com.tasksphere.dto.auth.SignupRequest;
 import com.tasksphere.dto.auth.UserBasic;
+import com.tasksphere.dto.auth.WsTicketResponse;
+import com.tasksphere.security.AuthPrincipal;
 import com.tasksphere.security.JwtTokenUtil;
 import com.tasksphere.security.RateLimiter;
+import com.tasksphere.security.TokenRevocationService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,7 +31,11 @@ public class AuthService {
     private final JwtTokenUtil jwt;
     private final RateLimiter rateLimiter;
     private final ActivityService activityService;
+    private final TokenRevocationService revocations;
+    private final OutboxService outboxService;
+    private final AppProperties properties;
 
+    @Transactional
     public UserBasic signup(SignupRequest req) {
         if (users.findByEmail(req.getEmail()).isPresent())
             throw new RuntimeException("Email already exists");
@@ -36,11 +45,13 @@ public class AuthService {
         u.setEmail(req.getEmail());
         u.setPasswordHash(encoder.encode(req.getPassword()));
         users.save(u);
+        outboxService.publishEvent("user.created", "user." + u.getId(),
+                String.format("{\"userId\":%d}", u.getId()));
         
         // Log successful registration
         activityService.logAuthEvent("REGISTRATION_SUCCESS", req.getEmail(), u.getId(), "localhost");
         
-        return new UserBasic(u.getId(), u.getName(), u.getEmail(), List.of("DEV"));
+        return new UserBasic(u.getId(), u.getName(), u.getEmail(), jwt.resolveRoles(u.getId()));
     }
 
     public AuthResponse login(LoginRequest req) {
@@ -52,44 +63,66 @@ public class AuthService {
                     .orElseThrow(() -> new RuntimeException("Invalid email"));
             
             if (!encoder.matches(req.getPassword(), u.getPasswordHash())) {
-                // Log failed login attempt
-                activityService.logAuthEvent("LOGIN_FAILURE", req.getEmail(), null, "localhost");
                 throw new RuntimeException("Invalid password");
             }
             
             // Reset rate limiter on successful login
             rateLimiter.resetLoginAttempts(req.getEmail());
             
-            String access = jwt.generateAccessToken(u);
+            List<String> roles = jwt.resolveRoles(u.getId());
+            String access = jwt.generateAccessToken(u, roles);
             String refresh = jwt.generateRefreshToken(u);
             
             // Log successful login
             activityService.logAuthEvent("LOGIN_SUCCESS", req.getEmail(), u.getId(), "localhost");
             
             return new AuthResponse(access, refresh,
-                    new UserBasic(u.getId(), u.getName(), u.getEmail(), List.of("DEV")));
+                    new UserBasic(u.getId(), u.getName(), u.getEmail(), roles));
                     
         } catch (RuntimeException e) {
-            // Log failed login attempt
+            // Log failed login attempt, once for any failure above
             activityService.logAuthEvent("LOGIN_FAILURE", req.getEmail(), null, "localhost");
             throw e;
         }
     }
 
     public AuthResponse refresh(String token) {
+        // Refresh reloads the user, so role changes take effect here
         User u = jwt.validateAndGetUser(token);
-        String access = jwt.generateAccessToken(u);
+        List<String> roles = jwt.resolveRoles(u.getId());
+        String access = jwt.generateAccessToken(u, roles);
         
         // Log token refresh
         activityService.logAuthEvent("TOKEN_REFRESH", u.getEmail(), u.getId(), "localhost");
         
         return new AuthResponse(access, token,
-                new UserBasic(u.getId(), u.getName(), u.getEmail(), List.of("DEV")));
+                new UserBasic(u.getId(), u.getName(), u.getEmail(), roles));
+    }
+
+    /**
+     * Sign the current user out everywhere: outstanding access tokens are revoked
+     * on all replicas and refresh tokens are invalidated by bumping the token version
+     */
+    @Transactional
+    public void logout(Authentication auth) {
+        AuthPrincipal p = (AuthPrincipal) auth.getPrincipal();
+        users.incrementTokenVersion(p.getId());
+        revocations.revokeAll(p.getId());
+
+        activityService.logAuthEvent("LOGOUT", p.getEmail(), p.getId(), "localhost");
     }
 
     public UserBasic getCurrentUser(Authentication auth) {
-        // For now, we'll get from token - later we'll implement proper auth
-        User u = (User) auth.getPrincipal();
-        return new UserBasic(u.getId(), u.getName(), u.getEmail(), List.of("DEV"));
+        AuthPrincipal p = (AuthPrincipal) auth.getPrincipal();
+        return new UserBasic(p.getId(), p.getName(), p.getEmail(), p.getRoles());
+    }
+
+    /**
+     * Short-lived ticket for opening a WebSocket, passed as /ws?ticket=...
+     */
+    public WsTicketResponse issueWsTicket(Authentication auth) {
+        AuthPrincipal p = (AuthPrincipal) auth.getPrincipal();
+        long ttlMs = properties.getJwt().getWsTicketExpiration();
+        return new WsTicketResponse(jwt.generateWsTicket(p, ttlMs), ttlMs / 1000);
     }
-}
\ No newline at end of file
+}
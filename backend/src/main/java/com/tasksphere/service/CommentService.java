@@ -1,44 +1,139 @@
 package com.tasksphere.service;
 
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tasksphere.domain.comment.Comment;
 import com.tasksphere.domain.comment.CommentRepository;
 import com.tasksphere.domain.issue.IssueRepository;
-import com.tasksphere.domain.user.User;
 import com.tasksphere.domain.user.UserRepository;
 import com.tasksphere.dto.comment.CommentView;
 import com.tasksphere.dto.comment.CreateCommentRequest;
+import com.tasksphere.dto.common.CursorPage;
+import com.tasksphere.dto.common.KeysetCursor;
+import com.tasksphere.security.AuthPrincipal;
+import com.tasksphere.security.PermissionChecker;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
+    static final int MAX_PAGE_SIZE = 200;
+    static final int EXCERPT_LENGTH = 280;
+
     private final CommentRepository repo;
     private final IssueRepository issues;
     private final UserRepository users;
+    private final ActivityService activity;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final PermissionChecker perm;
+
+    /**
+     * Whole thread, oldest first, with authors joined in the same query
+     * Kept for existing clients; use {@link #thread} for long discussions
+     */
+    public List<CommentView> list(Long issueId, Authentication auth) {
+        checkAccess(issueId, auth);
+        return repo.findViewsByIssueId(issueId);
+    }
 
-    public List<CommentView> list(Long issueId) {
-        return repo.findByIssueIdOrderByCreatedAtAsc(issueId)
-                .stream().map(this::toView).toList();
+    /**
+     * Keyset-paginated slice of an issue's discussion
+     * @param cursor nextCursor of the previous page, or null to start from the newest
+     *               (or, with newer, the oldest) comment
+     * @param newer false pages from the latest comments back (load older),
+     *              true pages forward from the start of the thread
+     * @param sinceId Only comments with a higher id, for refreshing an open thread
+     * @param limit Page size, capped at {@link #MAX_PAGE_SIZE}
+     */
+    public CursorPage<CommentView> thread(Long issueId, String cursor, boolean newer, Long sinceId, int limit,
+                                          Authentication auth) {
+        checkAccess(issueId, auth);
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long floor = sinceId != null ? sinceId : 0L;
+        List<CommentView> rows;
+        if (newer) {
+            KeysetCursor after = KeysetCursor.decode(cursor, KeysetCursor.ORIGIN);
+            rows = repo.findNewer(issueId, after.getCreatedAt(), after.getId(), floor, Limit.of(size + 1));
+        } else {
+            KeysetCursor before = KeysetCursor.decode(cursor);
+            rows = repo.findOlder(issueId, before.getCreatedAt(), before.getId(), floor, Limit.of(size + 1));
+        }
+
+        List<CommentView> items = rows.size() > size ? rows.subList(0, size) : rows;
+        String next = null;
+        if (rows.size() > size) {
+            CommentView last = items.get(size - 1);
+            next = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, next, null);
     }
 
+    /**
+     * Save a comment and, in the same transaction, queue a comment.added event on
+     * issue.{id} carrying enough for open threads to append it without refetching
+     */
+    @Transactional
     public CommentView add(Long issueId, CreateCommentRequest req, Authentication auth) {
-        User user = (User) auth.getPrincipal();
+        AuthPrincipal user = (AuthPrincipal) auth.getPrincipal();
         Comment c = new Comment();
-        c.setIssue(issues.findById(issueId).orElseThrow());
-        c.setAuthor(user);
+        c.setIssue(issues.findById(issueId).orElseThrow(() -> new RuntimeException("Issue not found")));
+        Long projectId = c.getIssue().getProject().getId();
+        if (!perm.canAccessProject(projectId, auth)) {
+            throw new AccessDeniedException("No access to issue " + issueId);
+        }
+        c.setAuthor(users.getReferenceById(user.getId()));
         c.setText(req.getText());
+        c.setCreatedAt(new Timestamp(System.currentTimeMillis() / 1000 * 1000));
         repo.save(c);
-        return toView(c);
+        activity.logProjectActivity(projectId, "COMMENT", c.getId(), "COMMENT_ADDED",
+                null, String.valueOf(issueId));
+        outboxService.publishEvent("comment.added", "issue." + issueId,
+                eventPayload(c, issueId, projectId, user));
+        // Author name comes from the token so the user proxy is never loaded
+        return new CommentView(c.getId(), user.getName(), c.getText(), c.getCreatedAt());
+    }
+
+    private void checkAccess(Long issueId, Authentication auth) {
+        Long projectId = issues.findProjectIdById(issueId).orElseThrow(() -> new RuntimeException("Issue not found"));
+        if (!perm.canAccessProject(projectId, auth)) {
+            throw new AccessDeniedException("No access to issue " + issueId);
+        }
     }
 
-    private CommentView toView(Comment c) {
-        return new CommentView(c.getId(), c.getAuthor().getName(),
-                c.getText(), c.getCreatedAt());
+    private String eventPayload(Comment c, Long issueId, Long projectId, AuthPrincipal author) {
+        String text = c.getText() != null ? c.getText() : "";
+        boolean truncated = text.length() > EXCERPT_LENGTH;
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("commentId", c.getId());
+        payload.put("issueId", issueId);
+        payload.put("projectId", projectId);
+        payload.put("authorId", author.getId());
+        payload.put("author", author.getName());
+        // Don't split a surrogate pair at the cut
+        payload.put("excerpt", truncated
+                ? text.substring(0, Character.isHighSurrogate(text.charAt(EXCERPT_LENGTH - 1))
+                        ? EXCERPT_LENGTH - 1 : EXCERPT_LENGTH)
+                : text);
+        payload.put("truncated", truncated);
+        // Same value as the row and the REST response, so clients can build a /page cursor from it
+        payload.put("createdAt", c.getCreatedAt().getTime());
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize comment event", e);
+        }
     }
 }
\ No newline at end of file
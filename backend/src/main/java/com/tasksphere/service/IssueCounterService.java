@@ -0,0 +1,90 @@
+package com.tasksphere.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tasksphere.domain.issue.IssueCounterDeltas;
+import com.tasksphere.domain.issue.IssueCounterRepository;
+import com.tasksphere.dto.issue.IssueCountsView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-project issue counts by sprint, status and assignee from the issue_counters table
+ *
+ * Issue writes apply their deltas in the same transaction, so reads never touch
+ * issues. A nightly job rebuilds each project's counters from issues to repair
+ * any drift (e.g. rows changed outside the application).
+ */
+@Service
+@Slf4j
+public class IssueCounterService {
+
+    private final IssueCounterRepository counters;
+    private final SprintAnalyticsService analytics;
+    private final TransactionTemplate tx;
+
+    public IssueCounterService(IssueCounterRepository counters, SprintAnalyticsService analytics,
+                               PlatformTransactionManager transactionManager) {
+        this.counters = counters;
+        this.analytics = analytics;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Apply counter changes and refresh the affected sprint snapshots; must be called
+     * inside the transaction that changed the issues
+     */
+    public void apply(IssueCounterDeltas deltas) {
+        if (!deltas.isEmpty()) {
+            counters.apply(deltas);
+            analytics.onCountsChanged(deltas.sprintIds());
+        }
+    }
+
+    /**
+     * @param sprintId Sprint to count, 0 for the backlog, or null for the whole project
+     */
+    @PreAuthorize("@perm.canAccessProject(#projectId, authentication)")
+    public IssueCountsView counts(Long projectId, Long sprintId) {
+        long total = 0;
+        long points = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Long> pointsByStatus = new LinkedHashMap<>();
+        Map<Long, Long> byAssignee = new LinkedHashMap<>();
+
+        for (IssueCounterRepository.Row r : counters.findByProject(projectId, sprintId)) {
+            total += r.getIssueCount();
+            points += r.getStoryPoints();
+            byStatus.merge(r.getStatus(), r.getIssueCount(), Long::sum);
+            pointsByStatus.merge(r.getStatus(), r.getStoryPoints(), Long::sum);
+            byAssignee.merge(r.getAssigneeId(), r.getIssueCount(), Long::sum);
+        }
+        return new IssueCountsView(projectId, sprintId, total, points, byStatus, pointsByStatus, byAssignee);
+    }
+
+    /**
+     * Rebuild every project's counters from issues, one transaction per project
+     */
+    @Scheduled(cron = "${app.issues.counter-reconcile-cron:0 30 2 * * *}")
+    public void reconcile() {
+        List<Long> projectIds = counters.findProjectIds();
+        int failed = 0;
+        for (Long projectId : projectIds) {
+            try {
+                tx.executeWithoutResult(status -> counters.rebuildProject(projectId));
+            } catch (Exception e) {
+                failed++;
+                log.error("Failed to reconcile issue counters for project {}: {}", projectId, e.getMessage());
+            }
+        }
+        log.info("Reconciled issue counters for {} projects ({} failed)", projectIds.size() - failed, failed);
+    }
+}
@@ -0,0 +1,163 @@
+package com.tasksphere.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import com.tasksphere.domain.issue.IssueSearchRepository;
+import com.tasksphere.dto.common.CursorPage;
+import com.tasksphere.dto.issue.IssueSearchHit;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Project-scoped full-text search over issue summaries, descriptions and comments
+ *
+ * Ranking is done by MySQL FULLTEXT (see {@link IssueSearchRepository}); this
+ * layer pages on (score, issue id) and builds highlighted summaries and snippets.
+ */
+@Service
+@RequiredArgsConstructor
+public class IssueSearchService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_QUERY_LENGTH = 200;
+    static final int SNIPPET_LENGTH = 160;
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}_]{2,}");
+
+    private final IssueSearchRepository repo;
+
+    /**
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit Page size, capped at {@link #MAX_PAGE_SIZE}
+     */
+    @PreAuthorize("@perm.canAccessProject(#projectId, authentication)")
+    public CursorPage<IssueSearchHit> search(Long projectId, String query, String cursor, int limit) {
+        String q = query != null ? query.strip() : "";
+        if (q.isEmpty()) {
+            throw new RuntimeException("Search query is required");
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            q = q.substring(0, MAX_QUERY_LENGTH);
+        }
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        double beforeScore = Double.MAX_VALUE;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf(':');
+                beforeScore = Double.parseDouble(raw.substring(0, sep));
+                beforeId = Long.parseLong(raw.substring(sep + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<IssueSearchRepository.Hit> rows = repo.search(projectId, q, beforeScore, beforeId, size + 1);
+        List<IssueSearchRepository.Hit> page = rows.size() > size ? rows.subList(0, size) : rows;
+        Pattern highlight = highlightPattern(q);
+
+        List<IssueSearchHit> items = new ArrayList<>(page.size());
+        for (IssueSearchRepository.Hit h : page) {
+            items.add(new IssueSearchHit(h.getIssueId(), highlight(h.getSummary(), highlight),
+                    snippet(highlight, h.getDescription(), h.getComments()), h.getScore()));
+        }
+        String next = null;
+        if (rows.size() > size) {
+            IssueSearchRepository.Hit last = page.get(size - 1);
+            String raw = last.getScore() + ":" + last.getIssueId();
+            next = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new CursorPage<>(items, next, null);
+    }
+
+    /**
+     * Case-insensitive alternation of the query's words, or null if it has none
+     */
+    static Pattern highlightPattern(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        Matcher m = TERM.matcher(query);
+        while (m.find()) {
+            terms.add(Pattern.quote(m.group().toLowerCase(Locale.ROOT)));
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return Pattern.compile("(?<![\\p{L}\\p{N}_])(" + String.join("|", terms) + ")",
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * HTML-escape text and wrap matched terms in &lt;mark&gt;
+     */
+    static String highlight(String text, Pattern terms) {
+        if (text == null) {
+            return null;
+        }
+        if (terms == null) {
+            return escape(text);
+        }
+        StringBuilder out = new StringBuilder(text.length() + 32);
+        Matcher m = terms.matcher(text);
+        int last = 0;
+        while (m.find()) {
+            out.append(escape(text.substring(last, m.start())))
+               .append("<mark>").append(escape(m.group())).append("</mark>");
+            last = m.end();
+        }
+        return out.append(escape(text.substring(last))).toString();
+    }
+
+    /**
+     * A window of about {@link #SNIPPET_LENGTH} chars around the first match in the
+     * description, then the comments; the start of the description if neither matches
+     */
+    static String snippet(Pattern terms, String... fields) {
+        for (String field : fields) {
+            if (field == null || terms == null) {
+                continue;
+            }
+            Matcher m = terms.matcher(field);
+            if (m.find()) {
+                int from = Math.max(0, m.start() - SNIPPET_LENGTH / 3);
+                int to = Math.min(field.length(), from + SNIPPET_LENGTH);
+                return (from > 0 ? "…" : "") + highlight(field.substring(from, to), terms)
+                        + (to < field.length() ? "…" : "");
+            }
+        }
+        String first = fields.length > 0 ? fields[0] : null;
+        if (first == null || first.isEmpty()) {
+            return null;
+        }
+        return first.length() > SNIPPET_LENGTH
+                ? escape(first.substring(0, SNIPPET_LENGTH)) + "…"
+                : escape(first);
+    }
+
+    private static String escape(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -1,33 +1,64 @@
 package com.tasksphere.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
+import org.hibernate.Session;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.tasksphere.domain.activity.AuditRecord;
 import com.tasksphere.domain.issue.Issue;
+import com.tasksphere.domain.issue.IssueCounterDeltas;
 import com.tasksphere.domain.issue.IssueRepository;
+import com.tasksphere.domain.project.Project;
 import com.tasksphere.domain.project.ProjectRepository;
+import com.tasksphere.domain.sprint.Sprint;
 import com.tasksphere.domain.sprint.SprintRepository;
+import com.tasksphere.domain.user.User;
 import com.tasksphere.domain.user.UserRepository;
+import com.tasksphere.dto.issue.BulkTransitionRequest;
+import com.tasksphere.dto.issue.BulkUpdateResult;
 import com.tasksphere.dto.issue.CreateIssueRequest;
 import com.tasksphere.dto.issue.IssueView;
+import com.tasksphere.security.PermissionChecker;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class IssueService {
+    static final int BULK_CHUNK = 500;
+    static final int BULK_MAX = 10_000;
+    static final Set<String> STATUSES = Set.of("BACKLOG", "TODO", "IN_PROGRESS", "QA_READY", "DONE");
+
     private final IssueRepository issues;
     private final ProjectRepository projects;
     private final SprintRepository sprints;
     private final UserRepository users;
+    private final ActivityService activity;
+    private final OutboxService outboxService;
+    private final PermissionChecker perm;
+    private final EntityManager entityManager;
+    private final IssueCounterService counters;
 
+    @Transactional
     public IssueView create(CreateIssueRequest req) {
         Issue i = new Issue();
         i.setProject(projects.findById(req.getProjectId()).orElseThrow(() -> 
             new RuntimeException("Project not found")));
         if (req.getSprintId() != null)
-            i.setSprint(sprints.findById(req.getSprintId()).orElse(null));
+            i.setSprint(sprintOf(req, sprints.findById(req.getSprintId()).orElse(null)));
         i.setType(req.getType());
         i.setStatus("TODO");
         i.setPriority(req.getPriority());
@@ -36,17 +67,222 @@ public class IssueService {
         i.setReporter(users.findById(req.getReporterId()).orElseThrow(() -> 
             new RuntimeException("Reporter not found")));
         if (req.getAssigneeId() != null)
-            i.setAssignee(users.findById(req.getAssigneeId()).orElse(null));
+            i.setAssignee(users.findById(req.getAssigneeId()).orElseThrow(() ->
+                new RuntimeException("Assignee not found: " + req.getAssigneeId())));
         issues.save(i);
+        counters.apply(countIn(new IssueCounterDeltas(), i));
+        activity.logProjectActivity(req.getProjectId(), "ISSUE", i.getId(), "ISSUE_CREATED", null, i.getSummary());
+        outboxService.publishIssueEvent(req.getProjectId(), i.getId(), "issue.created",
+                String.format("{\"projectId\":%d,\"issueId\":%d}", req.getProjectId(), i.getId()));
         return toView(i);
     }
 
+    /**
+     * Create many issues at once, e.g. for imports from another tracker
+     *
+     * Referenced projects, sprints and users are loaded with one findAllById per
+     * chunk, and inserts go out as JDBC batches of {@link #BULK_CHUNK} rows (ids come
+     * from the pooled table allocator). Each chunk is flushed and cleared so the
+     * persistence context stays small. One outbox event and one activity entry are
+     * written per project rather than per issue.
+     */
+    @Transactional
+    public List<IssueView> createAll(List<CreateIssueRequest> reqs) {
+        if (reqs.size() > BULK_MAX) {
+            throw new RuntimeException("At most " + BULK_MAX + " issues per request");
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(BULK_CHUNK);
+
+        List<IssueView> created = new ArrayList<>(reqs.size());
+        Map<Long, List<Long>> idsByProject = new LinkedHashMap<>();
+        IssueCounterDeltas deltas = new IssueCounterDeltas();
+        try {
+            for (int from = 0; from < reqs.size(); from += BULK_CHUNK) {
+                List<CreateIssueRequest> chunk = reqs.subList(from, Math.min(from + BULK_CHUNK, reqs.size()));
+                List<Issue> batch = buildChunk(chunk, auth);
+                issues.saveAll(batch);
+                entityManager.flush();
+                entityManager.clear();
+
+                for (Issue i : batch) {
+                    created.add(toView(i));
+                    countIn(deltas, i);
+                    idsByProject.computeIfAbsent(i.getProject().getId(), id -> new ArrayList<>()).add(i.getId());
+                }
+            }
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+        counters.apply(deltas);
+
+        idsByProject.forEach((projectId, ids) -> {
+            String payload = String.format("{\"projectId\":%d,\"count\":%d,\"issueIds\":%s}",
+                    projectId, ids.size(), ids);
+            outboxService.publishProjectEvent(projectId, "issues.bulk_created", payload);
+            activity.logProjectActivity(projectId, "PROJECT", projectId, "ISSUES_IMPORTED",
+                    null, String.valueOf(ids.size()));
+        });
+        return created;
+    }
+
+    private List<Issue> buildChunk(List<CreateIssueRequest> chunk, Authentication auth) {
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> sprintIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (CreateIssueRequest req : chunk) {
+            projectIds.add(req.getProjectId());
+            if (req.getSprintId() != null) sprintIds.add(req.getSprintId());
+            if (req.getAssigneeId() != null) userIds.add(req.getAssigneeId());
+            userIds.add(req.getReporterId());
+        }
+        projectIds.remove(null);
+        userIds.remove(null);
+
+        for (Long projectId : projectIds) {
+            if (!perm.canAccessProject(projectId, auth)) {
+                throw new AccessDeniedException("No access to project " + projectId);
+            }
+        }
+
+        Map<Long, Project> projectMap = byId(projects.findAllById(projectIds), Project::getId);
+        Map<Long, Sprint> sprintMap = byId(sprints.findAllById(sprintIds), Sprint::getId);
+        Map<Long, User> userMap = byId(users.findAllById(userIds), User::getId);
+
+        List<Issue> batch = new ArrayList<>(chunk.size());
+        for (CreateIssueRequest req : chunk) {
+            Issue i = new Issue();
+            Project project = projectMap.get(req.getProjectId());
+            if (project == null) {
+                throw new RuntimeException("Project not found: " + req.getProjectId());
+            }
+            i.setProject(project);
+            if (req.getSprintId() != null) {
+                i.setSprint(sprintOf(req, sprintMap.get(req.getSprintId())));
+            }
+            i.setType(req.getType());
+            i.setStatus("TODO");
+            i.setPriority(req.getPriority());
+            i.setSummary(req.getSummary());
+            i.setDescription(req.getDescription());
+            User reporter = userMap.get(req.getReporterId());
+            if (reporter == null) {
+                throw new RuntimeException("Reporter not found: " + req.getReporterId());
+            }
+            i.setReporter(reporter);
+            if (req.getAssigneeId() != null) {
+                User assignee = userMap.get(req.getAssigneeId());
+                if (assignee == null) {
+                    throw new RuntimeException("Assignee not found: " + req.getAssigneeId());
+                }
+                i.setAssignee(assignee);
+            }
+            batch.add(i);
+        }
+        return batch;
+    }
+
+    /**
+     * The request's sprint, which must exist and belong to the request's project
+     */
+    private static Sprint sprintOf(CreateIssueRequest req, Sprint sprint) {
+        if (sprint == null) {
+            throw new RuntimeException("Sprint not found: " + req.getSprintId());
+        }
+        if (!sprint.getProject().getId().equals(req.getProjectId())) {
+            throw new RuntimeException("Sprint " + req.getSprintId() + " does not belong to project "
+                    + req.getProjectId());
+        }
+        return sprint;
+    }
+
+    private static IssueCounterDeltas countIn(IssueCounterDeltas deltas, Issue i) {
+        return deltas.add(i.getProject().getId(), i.getSprint() != null ? i.getSprint().getId() : null,
+                i.getStatus(), i.getAssignee() != null ? i.getAssignee().getId() : null, i.getStoryPoints(), 1);
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        Map<Long, T> map = new HashMap<>(entities.size() * 2);
+        for (T e : entities) {
+            map.put(id.apply(e), e);
+        }
+        return map;
+    }
+
+    /**
+     * Move many issues to one status with set-based UPDATEs of at most {@link #BULK_CHUNK} ids
+     * Each chunk's rows are locked before they are read, so concurrent transitions of the same
+     * issues serialize and counters move once. Each changed issue gets a STATUS_CHANGED entry,
+     * written in JDBC batches once every chunk is updated; one outbox event is written per project
+     */
+    @Transactional
+    public BulkUpdateResult transition(BulkTransitionRequest req) {
+        String status = req.getStatus();
+        if (status == null || !STATUSES.contains(status)) {
+            throw new RuntimeException("Invalid status: " + status);
+        }
+        List<Long> ids = req.getIssueIds() != null ? req.getIssueIds() : List.of();
+        if (ids.size() > BULK_MAX) {
+            throw new RuntimeException("At most " + BULK_MAX + " issues per request");
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        List<Long> updated = new ArrayList<>();
+        Map<Long, List<Long>> idsByProject = new LinkedHashMap<>();
+        IssueCounterDeltas deltas = new IssueCounterDeltas();
+        List<AuditRecord> records = new ArrayList<>();
+
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK, ids.size()));
+            List<IssueRepository.IssueRef> refs = issues.lockRefsByIdIn(chunk);
+            checkAccess(refs, auth);
+
+            List<IssueRepository.IssueRef> changing = refs.stream()
+                    .filter(r -> !status.equals(r.getStatus()))
+                    .toList();
+            if (changing.isEmpty()) {
+                continue;
+            }
+            issues.updateStatus(changing.stream().map(IssueRepository.IssueRef::getId).toList(), status);
+
+            for (IssueRepository.IssueRef r : changing) {
+                updated.add(r.getId());
+                idsByProject.computeIfAbsent(r.getProjectId(), id -> new ArrayList<>()).add(r.getId());
+                deltas.move(r.getProjectId(), r.getStoryPoints(),
+                        r.getSprintId(), r.getStatus(), r.getAssigneeId(),
+                        r.getSprintId(), status, r.getAssigneeId());
+                records.add(activity.projectRecord(r.getProjectId(), "ISSUE", r.getId(), "STATUS_CHANGED",
+                        r.getStatus(), status));
+            }
+        }
+        counters.apply(deltas);
+        activity.logBulkActivity(records);
+
+        idsByProject.forEach((projectId, changed) -> {
+            String payload = String.format("{\"projectId\":%d,\"status\":\"%s\",\"issueIds\":%s}",
+                    projectId, status, changed);
+            outboxService.publishProjectEvent(projectId, "issues.status_changed", payload);
+        });
+        return new BulkUpdateResult(ids.size(), updated.size(), updated);
+    }
+
+    private void checkAccess(List<IssueRepository.IssueRef> refs, Authentication auth) {
+        Set<Long> checked = new HashSet<>();
+        for (IssueRepository.IssueRef r : refs) {
+            if (checked.add(r.getProjectId()) && !perm.canAccessProject(r.getProjectId(), auth)) {
+                throw new AccessDeniedException("No access to project " + r.getProjectId());
+            }
+        }
+    }
+
     public List<IssueView> list(Long projectId, String status) {
         return issues.findByProjectIdAndStatusOptional(projectId, status)
-                .stream().map(this::toView).toList();
+                .stream().map(IssueService::toView).toList();
     }
 
-    private IssueView toView(Issue i) {
+    static IssueView toView(Issue i) {
         String assignee = i.getAssignee() != null ? i.getAssignee().getName() : "-";
         return new IssueView(i.getId(), i.getType(), i.getStatus(),
                 i.getPriority(), i.getSummary(), assignee, i.getReporter().getName());
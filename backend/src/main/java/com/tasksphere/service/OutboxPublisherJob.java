@@ -81,7 +81,7 @@ public class OutboxPublisherJob {
         outbox.saveAll(batch);
     }
 
-    private Long parseProjectId(String channel) {
+    static Long parseProjectId(String channel) {
         // channel like "project.12" or "issue.101"
         try {
             if (channel.startsWith("project.")) {
@@ -95,7 +95,7 @@ public class OutboxPublisherJob {
         }
     }
 
-    private Long parseIssueId(String channel) {
+    static Long parseIssueId(String channel) {
         try {
             if (channel.startsWith("issue.")) {
                 return Long.valueOf(channel.substring(6));
@@ -106,7 +106,7 @@ public class OutboxPublisherJob {
         }
     }
 
-    private Long parseSprintId(String channel) {
+    static Long parseSprintId(String channel) {
         try {
             if (channel.startsWith("sprint.")) {
                 return Long.valueOf(channel.substring(7));
@@ -0,0 +1,114 @@
+package com.tasksphere.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.data.domain.Limit;
+
+import com.tasksphere.domain.outbox.OutboxEvent;
+import com.tasksphere.domain.outbox.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Position of an outbox consumer that reads by id without skipping late commits
+ *
+ * Outbox ids are AUTO_INCREMENT, allocated at insert, so a transaction that
+ * commits late leaves a hole below ids that are already visible. Each read
+ * scans committed ids of every type above the high-water mark and records any
+ * hole it steps over as pending; pending ids are looked up again on every
+ * read and delivered once they appear. Holes left by rollbacks never fill, so
+ * a pending id is given up after gapTimeoutMs, and at most MAX_PENDING are
+ * tracked. Not thread-safe; each consumer owns its instance.
+ */
+@Slf4j
+final class OutboxTail {
+    static final int MAX_PENDING = 1000;
+
+    private final long gapTimeoutMs;
+    private final TreeMap<Long, Long> pending = new TreeMap<>(); // id -> first seen missing, epoch ms
+    private long highWater;
+
+    OutboxTail(long highWater, long gapTimeoutMs) {
+        this.highWater = highWater;
+        this.gapTimeoutMs = gapTimeoutMs;
+    }
+
+    /**
+     * @param encoded Pending ids as written by {@link #encodePending()}, or null
+     */
+    static OutboxTail restore(long highWater, String encoded, long gapTimeoutMs) {
+        OutboxTail tail = new OutboxTail(highWater, gapTimeoutMs);
+        if (encoded != null && !encoded.isBlank()) {
+            for (String entry : encoded.split(",")) {
+                int colon = entry.indexOf(':');
+                try {
+                    tail.pending.put(Long.valueOf(entry.substring(0, colon)), Long.valueOf(entry.substring(colon + 1)));
+                } catch (RuntimeException e) {
+                    log.warn("Ignoring malformed pending outbox id: {}", entry);
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Read the next batch: pending ids that have since committed, then up to batchSize new ids
+     * @return events of the wanted types among them, in id order, and how many new ids were scanned
+     */
+    Batch next(OutboxEventRepository outbox, Collection<String> types, int batchSize, long now) {
+        List<Long> wanted = new ArrayList<>();
+        if (!pending.isEmpty()) {
+            List<Long> filled = outbox.findIdsIn(pending.keySet());
+            filled.forEach(pending::remove);
+            wanted.addAll(filled);
+            int before = pending.size();
+            pending.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMs);
+            if (pending.size() < before) {
+                log.debug("Gave up on {} outbox ids older than {} ms", before - pending.size(), gapTimeoutMs);
+            }
+        }
+
+        List<Long> ids = outbox.findIdsAfter(highWater, Limit.of(batchSize));
+        long previous = highWater;
+        for (Long id : ids) {
+            for (long gap = previous + 1; gap < id; gap++) {
+                if (pending.size() >= MAX_PENDING) {
+                    log.warn("More than {} pending outbox ids; ids {} to {} are not tracked", MAX_PENDING, gap, id - 1);
+                    break;
+                }
+                pending.putIfAbsent(gap, now);
+            }
+            previous = id;
+        }
+        highWater = previous;
+        wanted.addAll(ids);
+
+        List<OutboxEvent> events = wanted.isEmpty() ? List.of() : outbox.findByIdInAndTypeIn(wanted, types);
+        return new Batch(events, ids.size());
+    }
+
+    long getHighWater() {
+        return highWater;
+    }
+
+    String encodePending() {
+        if (pending.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(pending.size() * 24);
+        for (Map.Entry<Long, Long> e : pending.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(e.getKey()).append(':').append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+    record Batch(List<OutboxEvent> events, int scanned) {
+    }
+}
@@ -0,0 +1,549 @@
+package com.tasksphere.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.domain.issue.IssueRepository;
+import com.tasksphere.dto.issue.PresenceView;
+import com.tasksphere.event.RealtimeEvent;
+import com.tasksphere.security.AuthPrincipal;
+import com.tasksphere.security.PermissionChecker;
+import com.tasksphere.security.ProjectAclService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Who is viewing, editing or typing on an issue right now
+ *
+ * Heartbeats from STOMP sessions only touch an in-memory table on the node
+ * that holds the session; nothing is written to MySQL or the outbox. Entries
+ * expire after ttl without a heartbeat, typing after typingTtl. A single
+ * flush thread debounces changes: once per flushInterval it writes each
+ * changed issue's local users to the Redis hash presence:issue:{id}, one field
+ * per user and node, reads the hash back to aggregate all nodes, and publishes
+ * presence.changed on issue.{id} for the users whose presence this node
+ * changed: its own fields, and fields of other nodes it found expired. Each
+ * listed user carries their state across all nodes. A change is therefore
+ * published once, by the node that made it, rather than once per node
+ * tracking the issue. Issues are re-flushed every ttl/2 to keep fields alive
+ * and to notice users of nodes that went away.
+ *
+ * Per-field expiry (HEXPIRE) needs Redis 7.4, so each value carries its own
+ * expiry time instead: readers skip expired fields and the flush deletes the
+ * ones it reads, and the whole hash expires ttl after its last write.
+ */
+@Service
+@Slf4j
+public class PresenceService {
+    static final String KEY_PREFIX = "presence:issue:";
+    static final String EVENT_TYPE = "presence.changed";
+    static final int MAX_ISSUES_PER_SESSION = 16;
+    static final int FLUSH_BATCH = 500;
+
+    public enum State { VIEWING, EDITING, TYPING }
+
+    private final IssueRepository issues;
+    private final ProjectAclService acls;
+    private final PermissionChecker perm;
+    private final StringRedisTemplate redis;
+    private final RealtimePublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    // sessionId -> issueId -> watch, and issueId -> watches; both hold the same Watch objects
+    private final Map<String, Map<Long, Watch>> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Watch>> watchers = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // Touched by the flush thread only
+    private final Map<Long, Tracked> tracked = new HashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "presence-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Counter deltaCounter;
+
+    @Value("${app.presence.ttl:PT30S}")
+    private Duration ttl;
+
+    @Value("${app.presence.typing-ttl:PT6S}")
+    private Duration typingTtl;
+
+    @Value("${app.presence.flush-interval:PT1S}")
+    private Duration flushInterval;
+
+    public PresenceService(IssueRepository issues, ProjectAclService acls, PermissionChecker perm,
+                           StringRedisTemplate redis, RealtimePublisher publisher, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.issues = issues;
+        this.objectMapper = objectMapper;
+        this.acls = acls;
+        this.perm = perm;
+        this.redis = redis;
+        this.publisher = publisher;
+        Gauge.builder("presence.sessions", sessions, Map::size)
+                .description("STOMP sessions with presence on this node")
+                .register(meterRegistry);
+        Gauge.builder("presence.issues", watchers, Map::size)
+                .description("Issues with local presence on this node")
+                .register(meterRegistry);
+        this.deltaCounter = Counter.builder("presence.deltas.published")
+                .description("presence.changed events published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record that a session is on an issue; also the heartbeat that keeps it there
+     * @param state VIEWING or EDITING, or null to keep the current state
+     */
+    public void heartbeat(String sessionId, AuthPrincipal user, Long issueId, State state) {
+        Watch w = touch(sessionId, user, issueId);
+        if (state != null && state != State.TYPING && w.state != state) {
+            w.state = state;
+            dirty.add(issueId);
+        }
+    }
+
+    /**
+     * Mark the session's user as typing on the issue for typingTtl; repeated calls within that
+     * window only extend it and are never broadcast
+     */
+    public void typing(String sessionId, AuthPrincipal user, Long issueId) {
+        Watch w = touch(sessionId, user, issueId);
+        long now = System.currentTimeMillis();
+        if (w.typingUntil <= now) {
+            dirty.add(issueId);
+        }
+        w.typingUntil = now + typingTtl.toMillis();
+    }
+
+    public void leave(String sessionId, Long issueId) {
+        Map<Long, Watch> mine = sessions.get(sessionId);
+        Watch w = mine != null ? mine.get(issueId) : null;
+        if (w != null) {
+            detach(w);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<Long, Watch> mine = sessions.get(event.getSessionId());
+        if (mine != null) {
+            List.copyOf(mine.values()).forEach(this::detach);
+        }
+    }
+
+    /**
+     * Everyone on the issue across all nodes, as of the last flush anywhere
+     */
+    public List<PresenceView> snapshot(Long issueId, Authentication auth) {
+        Long projectId = issues.findProjectIdById(issueId).orElseThrow(() -> new RuntimeException("Issue not found"));
+        if (!perm.canAccessProject(projectId, auth)) {
+            throw new AccessDeniedException("No access to issue " + issueId);
+        }
+        Map<Object, Object> fields = redis.opsForHash().entries(KEY_PREFIX + issueId);
+        List<PresenceView> out = new ArrayList<>();
+        aggregate(fields, System.currentTimeMillis(), null).forEach((userId, value) ->
+                out.add(new PresenceView(userId, value.substring(2), stateOf(value).name())));
+        return out;
+    }
+
+    private Watch touch(String sessionId, AuthPrincipal user, Long issueId) {
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        Map<Long, Watch> mine = sessions.get(sessionId);
+        Watch w = mine != null ? mine.get(issueId) : null;
+        if (w != null) {
+            w.expiresAt = expiresAt;
+            return w;
+        }
+
+        // First heartbeat of this session on this issue: the only point that checks access
+        Long projectId = issues.findProjectIdById(issueId).orElseThrow(() -> new RuntimeException("Issue not found"));
+        if (!user.hasRole("ADMIN") && !acls.acl(user.getId()).canAccess(projectId)) {
+            throw new AccessDeniedException("No access to issue " + issueId);
+        }
+        Watch created = new Watch(sessionId, user.getId(), user.getName(), issueId, projectId);
+        created.expiresAt = expiresAt;
+        Watch[] result = new Watch[1];
+        sessions.compute(sessionId, (id, current) -> {
+            Map<Long, Watch> m = current != null ? current : new ConcurrentHashMap<>(4);
+            result[0] = m.get(issueId);
+            if (result[0] == null && m.size() < MAX_ISSUES_PER_SESSION) {
+                m.put(issueId, created);
+                result[0] = created;
+            }
+            return m;
+        });
+        if (result[0] == null) {
+            throw new RuntimeException("Presence is limited to " + MAX_ISSUES_PER_SESSION + " issues per session");
+        }
+        if (result[0] == created) {
+            watchers.compute(issueId, (id, set) -> {
+                Set<Watch> s = set != null ? set : ConcurrentHashMap.newKeySet();
+                s.add(created);
+                return s;
+            });
+            dirty.add(issueId);
+        }
+        return result[0];
+    }
+
+    private void detach(Watch w) {
+        sessions.computeIfPresent(w.sessionId, (id, m) -> {
+            m.remove(w.issueId, w);
+            return m.isEmpty() ? null : m;
+        });
+        watchers.computeIfPresent(w.issueId, (id, set) -> {
+            set.remove(w);
+            return set.isEmpty() ? null : set;
+        });
+        dirty.add(w.issueId);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        try {
+            flusher.awaitTermination(2, TimeUnit.SECONDS);
+            // Take this node's users out right away instead of waiting for their fields to expire;
+            // with no local watchers left, a last flush deletes the fields and publishes who left
+            watchers.clear();
+            List<Long> issueIds = new ArrayList<>(tracked.keySet());
+            long now = System.currentTimeMillis();
+            for (int from = 0; from < issueIds.size(); from += FLUSH_BATCH) {
+                flush(issueIds.subList(from, Math.min(from + FLUSH_BATCH, issueIds.size())), now);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to clear presence of node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    void flush() {
+        try {
+            long now = System.currentTimeMillis();
+            sweep(now);
+            if (dirty.isEmpty()) {
+                return;
+            }
+            List<Long> batch = new ArrayList<>(FLUSH_BATCH);
+            Iterator<Long> it = dirty.iterator();
+            while (it.hasNext()) {
+                batch.add(it.next());
+                it.remove();
+                if (batch.size() == FLUSH_BATCH) {
+                    flush(batch, now);
+                    batch.clear();
+                }
+            }
+            flush(batch, now);
+        } catch (Exception e) {
+            log.error("Presence flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Expire silent watches, end typing, and schedule the periodic re-flush of tracked issues
+     */
+    private void sweep(long now) {
+        List<Watch> expired = new ArrayList<>();
+        for (Set<Watch> set : watchers.values()) {
+            for (Watch w : set) {
+                if (w.expiresAt <= now) {
+                    expired.add(w);
+                } else if (w.typingUntil != 0 && w.typingUntil <= now) {
+                    w.typingUntil = 0;
+                    dirty.add(w.issueId);
+                }
+            }
+        }
+        expired.forEach(this::detach);
+
+        long refreshAfter = ttl.toMillis() / 2;
+        tracked.forEach((issueId, t) -> {
+            if (now - t.refreshedAt >= refreshAfter) {
+                dirty.add(issueId);
+            }
+        });
+    }
+
+    private void flush(List<Long> issueIds, long now) {
+        List<Pending> pending = new ArrayList<>(issueIds.size());
+        for (Long issueId : issueIds) {
+            Tracked t = tracked.get(issueId);
+            Set<Watch> set = watchers.get(issueId);
+            if (t == null) {
+                if (set == null || set.isEmpty()) {
+                    continue;
+                }
+                t = new Tracked(set.iterator().next().projectId);
+                tracked.put(issueId, t);
+            }
+            pending.add(new Pending(issueId, t, localFields(set, now)));
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long ttlSeconds = Math.max(1, ttl.toSeconds());
+        List<Object> results = redis.executePipelined((RedisCallback<Object>) conn -> {
+            RedisHashCommands hashes = conn.hashCommands();
+            for (Pending p : pending) {
+                byte[] key = bytes(KEY_PREFIX + p.issueId);
+                List<String> stale = new ArrayList<>();
+                for (String field : p.tracked.written) {
+                    if (!p.fields.containsKey(field)) {
+                        stale.add(field);
+                    }
+                }
+                if (!stale.isEmpty()) {
+                    hashes.hDel(key, toBytes(stale));
+                }
+                if (!p.fields.isEmpty()) {
+                    Map<byte[], byte[]> raw = new LinkedHashMap<>();
+                    p.fields.forEach((f, v) -> raw.put(bytes(f), bytes(v)));
+                    hashes.hMSet(key, raw);
+                    conn.keyCommands().expire(key, ttlSeconds);
+                }
+                hashes.hGetAll(key);
+            }
+            return null;
+        });
+
+        // One HGETALL per pending issue, in order; the other replies are not maps
+        Map<Long, List<String>> expired = new HashMap<>();
+        Iterator<Pending> next = pending.iterator();
+        for (Object result : results) {
+            if (result instanceof Map<?, ?> fields && next.hasNext()) {
+                Pending p = next.next();
+                p.tracked.written = p.fields.keySet();
+                p.tracked.refreshedAt = now;
+                List<String> gone = new ArrayList<>();
+                Map<Long, String> current = aggregate(fields, now, gone);
+                publishDelta(p, current, gone);
+                if (!gone.isEmpty()) {
+                    expired.put(p.issueId, gone);
+                }
+                if (p.fields.isEmpty()) {
+                    tracked.remove(p.issueId);
+                }
+            }
+        }
+
+        // Fields left behind by nodes that stopped refreshing them
+        if (!expired.isEmpty()) {
+            redis.executePipelined((RedisCallback<Object>) conn -> {
+                expired.forEach((issueId, gone) ->
+                        conn.hashCommands().hDel(bytes(KEY_PREFIX + issueId), toBytes(gone)));
+                return null;
+            });
+        }
+    }
+
+    /**
+     * This node's fields for an issue: one per user, holding the strongest state of their sessions
+     */
+    private Map<String, String> localFields(Set<Watch> set, long now) {
+        if (set == null || set.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Watch> best = new HashMap<>();
+        Map<Long, State> states = new HashMap<>();
+        for (Watch w : set) {
+            State s = w.typingUntil > now ? State.TYPING : w.state;
+            State current = states.get(w.userId);
+            if (current == null || s.ordinal() > current.ordinal()) {
+                states.put(w.userId, s);
+                best.put(w.userId, w);
+            }
+        }
+        long expiresAt = now + ttl.toMillis();
+        Map<String, String> fields = new HashMap<>();
+        best.forEach((userId, w) -> fields.put(userId + "@" + nodeId,
+                states.get(userId).name().charAt(0) + "|" + expiresAt + "|" + w.name));
+        return fields;
+    }
+
+    /**
+     * Publish the users this node changed, with their state across all nodes
+     * @param current Aggregate of all nodes, userId -> "S|name"
+     * @param gone Expired fields of any node this flush removes
+     */
+    private void publishDelta(Pending p, Map<Long, String> current, List<String> gone) {
+        Map<Long, String> local = new HashMap<>();
+        p.fields.forEach((field, value) -> local.put(userOf(field), value.substring(0, 2)
+                + value.substring(value.indexOf('|', 2) + 1)));
+        Set<Long> changed = new TreeSet<>();
+        local.forEach((userId, value) -> {
+            if (!value.equals(p.tracked.local.get(userId))) {
+                changed.add(userId);
+            }
+        });
+        for (Long userId : p.tracked.local.keySet()) {
+            if (!local.containsKey(userId)) {
+                changed.add(userId);
+            }
+        }
+        for (String field : gone) {
+            changed.add(userOf(field));
+        }
+        p.tracked.local = local;
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        List<PresenceView> present = new ArrayList<>();
+        List<Long> left = new ArrayList<>();
+        for (Long userId : changed) {
+            String value = current.get(userId);
+            if (value != null) {
+                present.add(new PresenceView(userId, value.substring(2), stateOf(value).name()));
+            } else {
+                left.add(userId);
+            }
+        }
+
+        try {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("issueId", p.issueId);
+            payload.put("present", present);
+            payload.put("left", left);
+            RealtimeEvent event = new RealtimeEvent(UUID.randomUUID().toString(), EVENT_TYPE, p.tracked.projectId);
+            event.setIssueId(p.issueId);
+            event.setPayload(objectMapper.writeValueAsString(payload));
+            publisher.publish("issue." + p.issueId, event);
+            deltaCounter.increment();
+        } catch (Exception e) {
+            log.warn("Failed to publish presence of issue {}: {}", p.issueId, e.getMessage());
+        }
+    }
+
+    /**
+     * Fold "userId@node" -> "S|expiresAt|name" fields of all nodes into userId -> strongest "S|name"
+     * @param expired Receives the fields whose expiry has passed, or null
+     */
+    private static Map<Long, String> aggregate(Map<?, ?> fields, long now, List<String> expired) {
+        Map<Long, String> users = new HashMap<>();
+        fields.forEach((field, value) -> {
+            String f = String.valueOf(field);
+            String v = String.valueOf(value);
+            int at = f.indexOf('@');
+            int bar = v.indexOf('|', 2);
+            if (at <= 0 || v.length() < 2 || bar < 0) {
+                return;
+            }
+            try {
+                Long userId = Long.valueOf(f.substring(0, at));
+                if (Long.parseLong(v, 2, bar, 10) <= now) {
+                    if (expired != null) {
+                        expired.add(f);
+                    }
+                    return;
+                }
+                String user = v.substring(0, 2) + v.substring(bar + 1);
+                users.merge(userId, user, (a, b) -> stateOf(b).ordinal() > stateOf(a).ordinal() ? b : a);
+            } catch (IllegalArgumentException e) {
+                // Not ours; ignore
+            }
+        });
+        return users;
+    }
+
+    private static State stateOf(String value) {
+        return switch (value.charAt(0)) {
+            case 'T' -> State.TYPING;
+            case 'E' -> State.EDITING;
+            default -> State.VIEWING;
+        };
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] toBytes(Set<String> values) {
+        return toBytes(List.copyOf(values));
+    }
+
+    private static byte[][] toBytes(List<String> values) {
+        byte[][] out = new byte[values.size()][];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = bytes(values.get(i));
+        }
+        return out;
+    }
+
+    private static final class Watch {
+        final String sessionId;
+        final long userId;
+        final String name;
+        final long issueId;
+        final long projectId;
+        volatile State state = State.VIEWING;
+        volatile long expiresAt;
+        volatile long typingUntil;
+
+        Watch(String sessionId, long userId, String name, long issueId, long projectId) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.name = name;
+            this.issueId = issueId;
+            this.projectId = projectId;
+        }
+    }
+
+    private static final class Tracked {
+        final long projectId;
+        Set<String> written = Set.of();           // this node's fields currently in Redis
+        Map<Long, String> local = Map.of();       // this node's userId -> "S|name" as of the last flush
+        long refreshedAt;
+
+        Tracked(long projectId) {
+            this.projectId = projectId;
+        }
+    }
+
+    private static Long userOf(String field) {
+        return Long.valueOf(field.substring(0, field.indexOf('@')));
+    }
+
+    private record Pending(long issueId, Tracked tracked, Map<String, String> fields) {
+    }
+}
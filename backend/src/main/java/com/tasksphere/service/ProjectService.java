@@ -1,26 +1,44 @@
 package com.tasksphere.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tasksphere.domain.project.Project;
 import com.tasksphere.domain.project.ProjectRepository;
+import com.tasksphere.domain.project.TeamMember;
+import com.tasksphere.domain.project.TeamMemberRepository;
 import com.tasksphere.domain.user.UserRepository;
+import com.tasksphere.dto.common.CursorPage;
+import com.tasksphere.dto.project.AddMemberRequest;
 import com.tasksphere.dto.project.CreateProjectRequest;
+import com.tasksphere.dto.project.MemberView;
 import com.tasksphere.dto.project.ProjectView;
+import com.tasksphere.security.AuthPrincipal;
+import com.tasksphere.security.ProjectAclService;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
+    static final int MAX_PAGE_SIZE = 200;
+
     private final ProjectRepository projects;
     private final UserRepository users;
     private final OutboxService outboxService; // Use outbox for reliable delivery
+    private final ActivityService activity;
+    private final TeamMemberRepository members;
+    private final ProjectAclService acls;
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or #req.ownerId == authentication.principal.id")
     @Transactional
@@ -35,11 +53,15 @@ public class ProjectService {
                 new RuntimeException("Owner not found")));
         }
         projects.save(p);
+        if (ownerId != null) {
+            acls.invalidate(List.of(ownerId));
+        }
         
         // Publish real-time event using outbox pattern
         String payload = String.format("{\"projectId\":%d,\"name\":\"%s\",\"key\":\"%s\"}", 
                                       p.getId(), p.getName(), p.getKey());
         outboxService.publishProjectEvent(p.getId(), "project.created", payload);
+        activity.logProjectActivity(p.getId(), "PROJECT", p.getId(), "PROJECT_CREATED", null, p.getName());
         
         return toView(p);
     }
@@ -49,6 +71,35 @@ public class ProjectService {
         return projects.findAll().stream().map(this::toView).toList();
     }
 
+    /**
+     * Projects the caller owns or belongs to (all projects for admins), one page per query
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit Page size, capped at {@link #MAX_PAGE_SIZE}
+     */
+    public CursorPage<ProjectView> mine(Authentication auth, String cursor, int limit) {
+        if (auth == null || !(auth.getPrincipal() instanceof AuthPrincipal)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        AuthPrincipal user = (AuthPrincipal) auth.getPrincipal();
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String afterKey = "";
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterKey = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<ProjectView> rows = projects.findVisible(user.getId(), user.hasRole("ADMIN"), afterKey, Limit.of(size + 1));
+        List<ProjectView> items = rows.size() > size ? rows.subList(0, size) : rows;
+        String next = rows.size() > size
+                ? Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        items.get(size - 1).getKey().getBytes(StandardCharsets.UTF_8))
+                : null;
+        return new CursorPage<>(items, next, null);
+    }
+
     @PreAuthorize("@perm.canAccessProject(#id, authentication)")
     public Optional<ProjectView> findById(Long id) {
         if (id == null) {
@@ -66,16 +117,70 @@ public class ProjectService {
         
         // Get project details before deletion for event
         Optional<Project> project = projects.findById(id);
+        List<Long> affected = new ArrayList<>(members.findUserIdsByProjectId(id));
+        project.ifPresent(p -> affected.add(p.getOwner().getId()));
+        members.deleteByProjectId(id);
         projects.deleteById(id);
+        acls.invalidate(affected);
         
         // Publish real-time event using outbox pattern
         if (project.isPresent()) {
             String payload = String.format("{\"projectId\":%d,\"name\":\"%s\"}", 
                                           id, project.get().getName());
             outboxService.publishProjectEvent(id, "project.deleted", payload);
+            activity.logProjectActivity(id, "PROJECT", id, "PROJECT_DELETE", project.get().getName(), null);
         }
     }
 
+    @PreAuthorize("@perm.canAccessProject(#projectId, authentication)")
+    public List<MemberView> members(Long projectId) {
+        return members.findMembers(projectId).stream()
+                .map(m -> new MemberView(m.getUserId(), m.getName(), m.getEmail(), m.getRole()))
+                .toList();
+    }
+
+    /**
+     * Add a user to the project team, or change their role if already a member
+     */
+    @PreAuthorize("@perm.canManageProject(#projectId, authentication)")
+    @Transactional
+    public MemberView addMember(Long projectId, AddMemberRequest req) {
+        Long roleId = members.findRoleId(req.getRole())
+                .orElseThrow(() -> new RuntimeException("Unknown role: " + req.getRole()));
+        TeamMember m = members.findByProjectIdAndUserId(projectId, req.getUserId()).orElseGet(() -> {
+            TeamMember created = new TeamMember();
+            created.setProject(projects.findById(projectId).orElseThrow(() ->
+                new RuntimeException("Project not found")));
+            created.setUser(users.findById(req.getUserId()).orElseThrow(() ->
+                new RuntimeException("User not found")));
+            return created;
+        });
+        m.setRoleId(roleId);
+        members.save(m);
+        acls.invalidate(List.of(req.getUserId()));
+
+        String payload = String.format("{\"projectId\":%d,\"userId\":%d,\"role\":\"%s\"}",
+                projectId, req.getUserId(), req.getRole());
+        outboxService.publishProjectEvent(projectId, "project.member_added", payload);
+        activity.logProjectActivity(projectId, "PROJECT", projectId, "MEMBER_ADDED", null,
+                req.getUserId() + ":" + req.getRole());
+        return new MemberView(req.getUserId(), m.getUser().getName(), m.getUser().getEmail(), req.getRole());
+    }
+
+    @PreAuthorize("@perm.canManageProject(#projectId, authentication)")
+    @Transactional
+    public void removeMember(Long projectId, Long userId) {
+        members.findByProjectIdAndUserId(projectId, userId).ifPresent(m -> {
+            members.delete(m);
+            acls.invalidate(List.of(userId));
+
+            String payload = String.format("{\"projectId\":%d,\"userId\":%d}", projectId, userId);
+            outboxService.publishProjectEvent(projectId, "project.member_removed", payload);
+            activity.logProjectActivity(projectId, "PROJECT", projectId, "MEMBER_REMOVED",
+                    String.valueOf(userId), null);
+        });
+    }
+
     private ProjectView toView(Project p) {
         return new ProjectView(p.getId(), p.getKey(), p.getName(), 
             p.getDescription(), p.getOwner().getName());
@@ -6,8 +6,16 @@ import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import com.tasksphere.config.AppProperties;
+import com.tasksphere.event.EventIdWindow;
+import com.tasksphere.event.ShardedSerialExecutor;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -18,6 +26,21 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Redis subscriber service for receiving and forwarding real-time events
  * Listens to Redis channels and forwards events to WebSocket clients
+ *
+ * The outbox may publish an event more than once (a failed saveAll after
+ * publishing, or replicas racing on the same rows), so events whose eventId
+ * was already forwarded on the same channel within the dedup window are
+ * dropped. The same event may legitimately go to several channels (project
+ * and issue), so the key is channel plus eventId, hashed straight from the
+ * message bytes. Events without an eventId are always forwarded.
+ *
+ * The body is already the JSON the clients receive, so it is handed to the
+ * broker as-is: no String round trip and no message converter, and every
+ * subscriber frame shares the one array (see FanoutStompEncoder).
+ *
+ * Messages arrive in order on the Redis connection thread and are handed to
+ * the fan-out executor by channel, so each topic is delivered in order on its
+ * shard while other topics proceed on the others.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,34 +49,91 @@ public class RealtimeSubscriber implements MessageListener {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final MeterRegistry meterRegistry;
+    private final AppProperties properties;
+    private final ShardedSerialExecutor realtimeFanoutExecutor;
     
+    private static final byte[] EVENT_ID_FIELD = "\"eventId\":\"".getBytes(StandardCharsets.UTF_8);
+
+    private EventIdWindow seen;
     private Counter deliveredCounter;
+    private Counter duplicateCounter;
 
     @PostConstruct
     public void init() {
+        AppProperties.Realtime config = properties.getRealtime();
+        // A generation that fills up rotates early, so memory stays fixed under bursts
+        seen = new EventIdWindow(4, config.getDedupCapacity(), config.getDedupWindowMs());
         deliveredCounter = Counter.builder("realtime.events.delivered")
                 .description("Events delivered to WebSocket clients")
                 .register(meterRegistry);
+        duplicateCounter = Counter.builder("realtime.events.duplicates")
+                .description("Events dropped because their eventId was already delivered")
+                .register(meterRegistry);
     }
 
     @Override
     public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
         try {
-            // Extract channel name from pattern
-            String channel = pattern != null ? new String(pattern, StandardCharsets.UTF_8) : "unknown";
+            if (isDuplicate(message.getChannel(), message.getBody())) {
+                duplicateCounter.increment();
+                return;
+            }
+
+            // The concrete channel (e.g. project.12), not the subscribed pattern
+            String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
             
             // Using GenericJackson2JsonRedisSerializer, the message body is already JSON
-            String payload = new String(message.getBody(), StandardCharsets.UTF_8);
-            
-            // Forward to WebSocket topic
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setLeaveMutable(true);
+
+            // Forward to WebSocket topic, bypassing conversion; the broker fans out on the channel's shard
             String topic = "/topic/" + channel;
-            messagingTemplate.convertAndSend(topic, payload);
-            
-            deliveredCounter.increment();
-            log.debug("Forwarded event from Redis channel {} to WebSocket topic {}", channel, topic);
+            byte[] body = message.getBody();
+            boolean queued = realtimeFanoutExecutor.execute(channel, () -> {
+                messagingTemplate.send(topic, MessageBuilder.createMessage(body, headers.getMessageHeaders()));
+                deliveredCounter.increment();
+                log.debug("Forwarded event from Redis channel {} to WebSocket topic {}", channel, topic);
+            });
+            if (!queued) {
+                log.warn("Fan-out queue full, dropped event for topic {}", topic);
+            }
             
         } catch (Exception e) {
             log.error("Failed to process Redis message: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Record the event's channel and eventId and report whether they were seen before
+     */
+    boolean isDuplicate(byte[] channel, byte[] body) {
+        int start = indexOf(body, EVENT_ID_FIELD);
+        if (start < 0) {
+            return false;
+        }
+        start += EVENT_ID_FIELD.length;
+        int end = start;
+        while (end < body.length && body[end] != '"') {
+            end++;
+        }
+        if (end == start || end == body.length) {
+            return false;
+        }
+        long key = EventIdWindow.hash(body, start, end) ^ Long.rotateLeft(EventIdWindow.hash(channel, 0, channel.length), 1);
+        return !seen.add(key, System.currentTimeMillis());
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0, last = data.length - pattern.length; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
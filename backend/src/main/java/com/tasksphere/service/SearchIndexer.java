@@ -0,0 +1,134 @@
+package com.tasksphere.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.domain.issue.IssueSearchRepository;
+import com.tasksphere.domain.outbox.OutboxEvent;
+import com.tasksphere.domain.outbox.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps issue_search in step with issues and comments by tailing the outbox
+ *
+ * Reads events after the stored search-indexer offset, collects the affected
+ * issue ids and rebuilds their documents, then advances the offset, all in one
+ * transaction. The offset row is locked FOR UPDATE so only one node indexes at
+ * a time. Ids passed over while their transaction was still open are stored
+ * with the offset and picked up once they commit (see {@link OutboxTail}).
+ *
+ * After startup, issues that have no document yet (e.g. created before the
+ * index existed) are backfilled one chunk per poll.
+ */
+@Service
+@Slf4j
+public class SearchIndexer {
+    static final String CONSUMER = "search-indexer";
+    static final List<String> EVENT_TYPES = List.of("issue.created", "issues.bulk_created", "comment.added");
+    static final int BATCH_SIZE = 500;
+    static final long GAP_TIMEOUT_MS = 600_000;
+
+    private final IssueSearchRepository repo;
+    private final OutboxEventRepository outbox;
+    private final TransactionTemplate tx;
+    private final ObjectMapper objectMapper;
+    private final Counter indexedCounter;
+
+    // Backfill runs one chunk per poll until every issue has a document
+    private volatile boolean backfilling = true;
+    private long backfillAfter;
+    private long backfilled;
+
+    public SearchIndexer(IssueSearchRepository repo, OutboxEventRepository outbox,
+                         PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.outbox = outbox;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.indexedCounter = Counter.builder("search.documents.indexed")
+                .description("Issue search documents written")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "PT10S", fixedDelayString = "${app.search.index-interval:PT2S}")
+    public void poll() {
+        try {
+            if (backfilling && !backfillChunk()) {
+                backfilling = false;
+                log.info("Search backfill complete, {} issues indexed", backfilled);
+            }
+            Integer indexed;
+            do {
+                indexed = tx.execute(status -> indexBatch());
+            } while (indexed != null && indexed >= BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("Search indexing failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Index one batch of outbox events
+     * @return number of new outbox ids scanned
+     */
+    private int indexBatch() {
+        IssueSearchRepository.ConsumerOffset offset = repo.lockOffset(CONSUMER);
+        OutboxTail tail = OutboxTail.restore(offset.getLastEventId(), offset.getPendingIds(), GAP_TIMEOUT_MS);
+        OutboxTail.Batch batch = tail.next(outbox, EVENT_TYPES, BATCH_SIZE, System.currentTimeMillis());
+        if (batch.scanned() == 0 && batch.events().isEmpty() && offset.getPendingIds() == null) {
+            return 0;
+        }
+
+        // Issue events are written to both the project and issue channels; the set collapses them
+        Set<Long> issueIds = new LinkedHashSet<>();
+        for (OutboxEvent e : batch.events()) {
+            collectIssueIds(e, issueIds);
+        }
+        int docs = repo.index(issueIds);
+        indexedCounter.increment(issueIds.size());
+        repo.saveOffset(CONSUMER, tail.getHighWater(), tail.encodePending());
+        log.debug("Indexed {} issues from {} outbox events ({} rows)", issueIds.size(), batch.events().size(), docs);
+        return batch.scanned();
+    }
+
+    private void collectIssueIds(OutboxEvent e, Set<Long> into) {
+        try {
+            JsonNode payload = objectMapper.readTree(e.getPayload());
+            if (payload.hasNonNull("issueId")) {
+                into.add(payload.get("issueId").asLong());
+            }
+            for (JsonNode id : payload.path("issueIds")) {
+                into.add(id.asLong());
+            }
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable outbox event id={}, type={}", e.getId(), e.getType());
+        }
+    }
+
+    /**
+     * Index the next chunk of issues without a document, in id order
+     * @return false once no unindexed issues are left
+     */
+    private boolean backfillChunk() {
+        List<Long> ids = repo.findUnindexed(backfillAfter, BATCH_SIZE);
+        if (ids.isEmpty()) {
+            return false;
+        }
+        tx.executeWithoutResult(status -> repo.index(ids));
+        backfillAfter = ids.get(ids.size() - 1);
+        backfilled += ids.size();
+        indexedCounter.increment(ids.size());
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+package com.tasksphere.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import com.tasksphere.domain.sprint.Sprint;
+import com.tasksphere.domain.sprint.SprintRepository;
+import com.tasksphere.domain.sprint.SprintSnapshotRepository;
+import com.tasksphere.dto.sprint.SprintReportPoint;
+import com.tasksphere.dto.sprint.SprintReportView;
+import com.tasksphere.dto.sprint.SprintVelocity;
+import com.tasksphere.dto.sprint.VelocityView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sprint burndown/burnup and velocity reports from precomputed daily snapshots
+ *
+ * Snapshots are upserted from issue_counters whenever a sprint's counts change
+ * and once a day for every active sprint. Reports only read the snapshot
+ * series and are cached in the "reports" region; changes evict the affected
+ * entries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SprintAnalyticsService {
+
+    static final String CACHE = "reports";
+    static final int MAX_VELOCITY_SPRINTS = 20;
+
+    private final SprintSnapshotRepository snapshots;
+    private final SprintRepository sprints;
+    private final CacheManager cacheManager;
+
+    /**
+     * Refresh today's snapshot of sprints whose issue counts changed; runs in the caller's transaction
+     */
+    public void onCountsChanged(Collection<Long> sprintIds) {
+        if (sprintIds.isEmpty()) {
+            return;
+        }
+        snapshots.capture(sprintIds);
+        sprintIds.forEach(id -> evict(reportKey(id)));
+    }
+
+    /**
+     * Velocity only counts closed sprints, so it changes when a sprint closes
+     */
+    public void onSprintClosed(Long projectId) {
+        evict(velocityKey(projectId));
+    }
+
+    /**
+     * Record a point for every active sprint, so days without changes still appear
+     */
+    @Scheduled(cron = "${app.reports.snapshot-cron:0 5 0 * * *}")
+    public void captureDaily() {
+        List<Long> captured = snapshots.captureActive();
+        captured.forEach(id -> evict(reportKey(id)));
+        log.info("Captured daily snapshots for {} active sprints", captured.size());
+    }
+
+    /**
+     * Daily burndown (remaining*, idealRemainingPoints) and burnup (done*, total*) series
+     */
+    @PreAuthorize("@perm.canAccessProject(#projectId, authentication)")
+    public SprintReportView report(Long projectId, Long sprintId) {
+        SprintReportView report = cached(reportKey(sprintId), SprintReportView.class,
+                () -> buildReport(projectId, sprintId));
+        if (!projectId.equals(report.getProjectId())) {
+            throw new RuntimeException("Sprint not found");
+        }
+        return report;
+    }
+
+    /**
+     * Completed work per closed sprint with rolling averages over the last n sprints
+     */
+    @PreAuthorize("@perm.canAccessProject(#projectId, authentication)")
+    public VelocityView velocity(Long projectId, int n) {
+        int count = Math.max(1, Math.min(n, MAX_VELOCITY_SPRINTS));
+        @SuppressWarnings("unchecked")
+        List<SprintVelocity> all = cached(velocityKey(projectId), List.class,
+                () -> snapshots.findClosedVelocity(projectId, MAX_VELOCITY_SPRINTS));
+
+        List<SprintVelocity> history = all.subList(0, Math.min(count, all.size()));
+        double points = history.stream().mapToLong(SprintVelocity::getDonePoints).average().orElse(0);
+        double issues = history.stream().mapToLong(SprintVelocity::getDoneIssues).average().orElse(0);
+        return new VelocityView(projectId, history.size(), points, issues, new ArrayList<>(history));
+    }
+
+    private SprintReportView buildReport(Long projectId, Long sprintId) {
+        Sprint sprint = sprints.findById(sprintId)
+                .filter(s -> s.getProject().getId().equals(projectId))
+                .orElseThrow(() -> new RuntimeException("Sprint not found"));
+
+        List<SprintReportPoint> points = snapshots.findSeries(sprintId);
+        addIdealLine(points, sprint.getStartDate(), sprint.getEndDate());
+
+        return new SprintReportView(projectId, sprint.getId(), sprint.getName(), sprint.getState(),
+                sprint.getStartDate() != null ? sprint.getStartDate().toString() : null,
+                sprint.getEndDate() != null ? sprint.getEndDate().toString() : null,
+                points);
+    }
+
+    /**
+     * Straight line from the first snapshot's scope down to zero on the end date
+     */
+    private static void addIdealLine(List<SprintReportPoint> points, LocalDate start, LocalDate end) {
+        if (points.isEmpty() || end == null) {
+            return;
+        }
+        LocalDate from = start != null ? start : LocalDate.parse(points.get(0).getDate());
+        long days = Math.max(1, ChronoUnit.DAYS.between(from, end));
+        double scope = points.get(0).getTotalPoints();
+        for (SprintReportPoint p : points) {
+            long elapsed = ChronoUnit.DAYS.between(from, LocalDate.parse(p.getDate()));
+            p.setIdealRemainingPoints(Math.max(0, scope * (1 - (double) elapsed / days)));
+        }
+    }
+
+    private <T> T cached(String key, Class<T> type, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null) {
+            return loader.get();
+        }
+        T value = cache.get(key, type);
+        if (value == null) {
+            value = loader.get();
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    private void evict(String key) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static String reportKey(Long sprintId) {
+        return "sprint-report:" + sprintId;
+    }
+
+    private static String velocityKey(Long projectId) {
+        return "velocity:" + projectId;
+    }
+}
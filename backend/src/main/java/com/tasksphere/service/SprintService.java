@@ -1,10 +1,20 @@
 package com.tasksphere.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.tasksphere.domain.activity.AuditRecord;
+import com.tasksphere.domain.issue.IssueCounterDeltas;
+import com.tasksphere.domain.issue.IssueRepository;
 import com.tasksphere.domain.project.ProjectRepository;
 import com.tasksphere.domain.sprint.Sprint;
 import com.tasksphere.domain.sprint.SprintRepository;
+import com.tasksphere.dto.issue.BulkUpdateResult;
+import com.tasksphere.dto.sprint.CloseSprintRequest;
 import com.tasksphere.dto.sprint.CreateSprintRequest;
 import com.tasksphere.dto.sprint.SprintView;
 
@@ -15,6 +25,11 @@ import lombok.RequiredArgsConstructor;
 public class SprintService {
     private final SprintRepository repo;
     private final ProjectRepository projects;
+    private final ActivityService activity;
+    private final IssueRepository issues;
+    private final OutboxService outboxService;
+    private final IssueCounterService counters;
+    private final SprintAnalyticsService analytics;
 
     public SprintView create(Long projectId, CreateSprintRequest req) {
         Sprint s = new Sprint();
@@ -25,9 +40,70 @@ public class SprintService {
         s.setEndDate(req.getEndDate());
         s.setState("ACTIVE");
         repo.save(s);
+        activity.logProjectActivity(projectId, "SPRINT", s.getId(), "SPRINT_CREATED", null, s.getName());
         return new SprintView(s.getId(), s.getName(), s.getState(), s.getStartDate(), s.getEndDate());
     }
 
+    /**
+     * Close a sprint, carrying every unfinished issue over to another sprint of the
+     * same project (or the backlog) with one set-based UPDATE per chunk
+     */
+    @PreAuthorize("@perm.canManageProject(#projectId, authentication)")
+    @Transactional
+    public BulkUpdateResult close(Long projectId, Long sprintId, CloseSprintRequest req) {
+        Sprint sprint = repo.findById(sprintId)
+                .filter(s -> s.getProject().getId().equals(projectId))
+                .orElseThrow(() -> new RuntimeException("Sprint not found"));
+        if ("CLOSED".equals(sprint.getState())) {
+            throw new RuntimeException("Sprint already closed");
+        }
+
+        Long targetId = req != null ? req.getTargetSprintId() : null;
+        Sprint target = null;
+        if (targetId != null) {
+            target = repo.findById(targetId)
+                    .filter(s -> s.getProject().getId().equals(projectId) && !"CLOSED".equals(s.getState()))
+                    .orElseThrow(() -> new RuntimeException("Target sprint not found or closed"));
+            if (target.getId().equals(sprintId)) {
+                throw new RuntimeException("Target sprint must differ from the closed sprint");
+            }
+        }
+
+        sprint.setState("CLOSED");
+        repo.saveAndFlush(sprint);
+
+        List<Long> moved = new ArrayList<>();
+        IssueCounterDeltas deltas = new IssueCounterDeltas();
+        List<IssueRepository.IssueRef> unfinished = issues.lockUnfinishedRefsBySprintId(sprintId);
+        for (IssueRepository.IssueRef r : unfinished) {
+            deltas.move(projectId, r.getStoryPoints(), sprintId, r.getStatus(), r.getAssigneeId(),
+                    targetId, r.getStatus(), r.getAssigneeId());
+        }
+        for (int from = 0; from < unfinished.size(); from += IssueService.BULK_CHUNK) {
+            List<Long> chunk = unfinished.subList(from, Math.min(from + IssueService.BULK_CHUNK, unfinished.size()))
+                    .stream().map(IssueRepository.IssueRef::getId).toList();
+            issues.moveToSprint(chunk, target);
+            moved.addAll(chunk);
+        }
+        counters.apply(deltas);
+
+        String to = targetId != null ? String.valueOf(targetId) : null;
+        // Per-issue history written in JDBC batches rather than through the audit queue
+        List<AuditRecord> records = moved.stream()
+                .map(issueId -> activity.projectRecord(projectId, "ISSUE", issueId, "SPRINT_CHANGED",
+                        String.valueOf(sprintId), to))
+                .toList();
+        activity.logBulkActivity(records);
+        activity.logProjectActivity(projectId, "SPRINT", sprintId, "SPRINT_CLOSED", null, String.valueOf(moved.size()));
+
+        String payload = String.format("{\"projectId\":%d,\"sprintId\":%d,\"targetSprintId\":%s,\"issueIds\":%s}",
+                projectId, sprintId, to, moved);
+        outboxService.publishProjectEvent(projectId, "sprint.closed", payload);
+        analytics.onSprintClosed(projectId);
+
+        return new BulkUpdateResult(unfinished.size(), moved.size(), moved);
+    }
+
     public SprintView getActive(Long projectId) {
         Sprint s = repo.findByProjectIdAndState(projectId, "ACTIVE")
                 .stream()
@@ -0,0 +1,231 @@
+package com.tasksphere.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.domain.outbox.OutboxEvent;
+import com.tasksphere.domain.outbox.OutboxEventRepository;
+import com.tasksphere.dto.search.TypeaheadItem;
+import com.tasksphere.search.PrefixIndex;
+import com.tasksphere.search.TypeaheadIndex;
+import com.tasksphere.search.TypeaheadRepository;
+import com.tasksphere.security.PermissionChecker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typeahead over user names and emails, project keys and names, and issue keys
+ * and summaries, answered from in-memory prefix indexes
+ *
+ * Each node loads the indexes once at startup and then follows the outbox by
+ * id from the position it loaded at, so entities created anywhere show up
+ * within a refresh interval of their commit; ids still uncommitted when they
+ * were passed are picked up once they commit (see {@link OutboxTail}). The
+ * position is kept in memory only; a restart simply reloads. Issues and
+ * projects are filtered by project access.
+ */
+@Service
+@Slf4j
+public class TypeaheadService {
+    static final int MAX_LIMIT = 20;
+    static final int BATCH_SIZE = 500;
+    static final int COMPACT_THRESHOLD = 4096;
+    static final long GAP_TIMEOUT_MS = 600_000;
+    static final long LOAD_OVERLAP = 1000;
+    static final List<String> EVENT_TYPES = List.of(
+            "user.created", "project.created", "project.deleted", "issue.created", "issues.bulk_created");
+
+    private final TypeaheadRepository repo;
+    private final OutboxEventRepository outbox;
+    private final PermissionChecker perm;
+    private final ObjectMapper objectMapper;
+
+    private final TypeaheadIndex users = new TypeaheadIndex(COMPACT_THRESHOLD);
+    private final TypeaheadIndex projects = new TypeaheadIndex(COMPACT_THRESHOLD);
+    private final TypeaheadIndex issues = new TypeaheadIndex(COMPACT_THRESHOLD);
+
+    // Own thread: full loads and compactions take seconds and would stall the shared scheduler
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "typeahead-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${app.typeahead.refresh-interval:PT1S}")
+    private Duration refreshInterval;
+
+    // Outbox position; null until the first full load. Touched by the refresher thread only
+    private OutboxTail tail;
+
+    public TypeaheadService(TypeaheadRepository repo, OutboxEventRepository outbox, PermissionChecker perm,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.outbox = outbox;
+        this.perm = perm;
+        Gauge.builder("typeahead.entries", users, TypeaheadIndex::size).tag("type", "user").register(meterRegistry);
+        Gauge.builder("typeahead.entries", projects, TypeaheadIndex::size).tag("type", "project").register(meterRegistry);
+        Gauge.builder("typeahead.entries", issues, TypeaheadIndex::size).tag("type", "issue").register(meterRegistry);
+    }
+
+    /**
+     * @param types Any of "users", "projects", "issues"
+     * @param projectId Restrict issues to one project, or null for all accessible projects
+     * @param limit Results per type, capped at {@link #MAX_LIMIT}
+     */
+    public List<TypeaheadItem> suggest(String query, Set<String> types, Long projectId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (projectId != null && !perm.canAccessProject(projectId, auth)) {
+            throw new AccessDeniedException("No access to project " + projectId);
+        }
+        LongPredicate accessible = id -> perm.canAccessProject(id, auth);
+
+        List<TypeaheadItem> out = new ArrayList<>();
+        if (types.contains("users")) {
+            users.search(query, s -> true, size)
+                    .forEach(d -> out.add(new TypeaheadItem("USER", d.id(), null, d.label())));
+        }
+        if (types.contains("projects")) {
+            projects.search(query, accessible, size)
+                    .forEach(d -> out.add(new TypeaheadItem("PROJECT", d.id(), d.id(), d.label())));
+        }
+        if (types.contains("issues")) {
+            LongPredicate scope = projectId != null ? s -> s == projectId : accessible;
+            issues.search(query, scope, size)
+                    .forEach(d -> out.add(new TypeaheadItem("ISSUE", d.id(), d.scope(), d.label())));
+        }
+        return out;
+    }
+
+    @PostConstruct
+    void start() {
+        refresher.scheduleWithFixedDelay(this::refresh, 5000, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    void refresh() {
+        try {
+            if (tail == null) {
+                load();
+                return;
+            }
+            int consumed;
+            do {
+                consumed = tail();
+            } while (consumed >= BATCH_SIZE);
+
+            for (TypeaheadIndex index : List.of(users, projects, issues)) {
+                if (index.needsCompaction()) {
+                    index.compact();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Typeahead refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        // Read the position first: anything committed during the load is replayed, which is harmless.
+        // The last LOAD_OVERLAP ids are replayed too, so holes of transactions still open are tracked
+        long position = outbox.findMaxId();
+        List<PrefixIndex.Doc> docs = new ArrayList<>();
+        repo.streamUsers(docs::add);
+        users.reset(docs);
+        docs = new ArrayList<>();
+        repo.streamProjects(docs::add);
+        projects.reset(docs);
+        docs = new ArrayList<>();
+        repo.streamIssues(docs::add);
+        issues.reset(docs);
+        tail = new OutboxTail(Math.max(0, position - LOAD_OVERLAP), GAP_TIMEOUT_MS);
+        log.info("Typeahead loaded {} users, {} projects, {} issues in {} ms",
+                users.size(), projects.size(), issues.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply one batch of outbox events
+     * @return number of new outbox ids scanned
+     */
+    private int tail() {
+        OutboxTail.Batch batch = tail.next(outbox, EVENT_TYPES, BATCH_SIZE, System.currentTimeMillis());
+        List<OutboxEvent> events = batch.events();
+        if (events.isEmpty()) {
+            return batch.scanned();
+        }
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Long> projectIds = new LinkedHashSet<>();
+        Set<Long> issueIds = new LinkedHashSet<>();
+        Set<Long> deletedProjects = new LinkedHashSet<>();
+        for (OutboxEvent e : events) {
+            switch (e.getType()) {
+                case "user.created" -> userIds.add(channelId(e.getChannel()));
+                case "project.created" -> projectIds.add(channelId(e.getChannel()));
+                case "project.deleted" -> deletedProjects.add(channelId(e.getChannel()));
+                default -> collectIssueIds(e, issueIds);
+            }
+        }
+        userIds.remove(null);
+        projectIds.remove(null);
+        deletedProjects.remove(null);
+
+        if (!userIds.isEmpty()) {
+            repo.findUsers(userIds).forEach(d -> users.put(d.id(), d.scope(), d.label()));
+        }
+        if (!projectIds.isEmpty()) {
+            repo.findProjects(projectIds).forEach(d -> projects.put(d.id(), d.scope(), d.label()));
+        }
+        deletedProjects.forEach(projects::remove);
+        if (!issueIds.isEmpty()) {
+            repo.findIssues(issueIds).forEach(d -> issues.put(d.id(), d.scope(), d.label()));
+        }
+        return batch.scanned();
+    }
+
+    private void collectIssueIds(OutboxEvent e, Set<Long> into) {
+        try {
+            JsonNode payload = objectMapper.readTree(e.getPayload());
+            if (payload.hasNonNull("issueId")) {
+                into.add(payload.get("issueId").asLong());
+            }
+            for (JsonNode id : payload.path("issueIds")) {
+                into.add(id.asLong());
+            }
+        } catch (Exception ex) {
+            log.warn("Skipping unreadable outbox event id={}, type={}", e.getId(), e.getType());
+        }
+    }
+
+    private static Long channelId(String channel) {
+        try {
+            return Long.valueOf(channel.substring(channel.indexOf('.') + 1));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
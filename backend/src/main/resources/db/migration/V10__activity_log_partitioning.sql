@@ -0,0 +1,17 @@
+-- Monthly RANGE partitioning of activity_log on created_at
+-- MySQL requires the partitioning column in every unique key and does not
+-- allow foreign keys on partitioned tables, so the PK becomes (id, created_at)
+-- and fk_al_actor is dropped (actor_id stays indexed by ix_al_actor).
+-- Boundaries are epoch seconds (UTC). Monthly partitions are created ahead of
+-- time, and expired ones archived, by ActivityPartitionJob.
+ALTER TABLE activity_log DROP FOREIGN KEY fk_al_actor;
+
+ALTER TABLE activity_log
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE activity_log
+  PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_history VALUES LESS THAN (1790812800),  -- 2026-10-01 00:00:00 UTC
+    PARTITION p_future  VALUES LESS THAN MAXVALUE
+  );
@@ -0,0 +1,23 @@
+-- Denormalised owning project so a project's whole activity stream is one index range
+ALTER TABLE activity_log
+  ADD COLUMN project_id BIGINT NULL AFTER entity_id;
+
+UPDATE activity_log SET project_id = entity_id WHERE entity_type = 'PROJECT';
+
+UPDATE activity_log a JOIN issues i ON i.id = a.entity_id
+   SET a.project_id = i.project_id
+ WHERE a.entity_type = 'ISSUE';
+
+UPDATE activity_log a JOIN sprints s ON s.id = a.entity_id
+   SET a.project_id = s.project_id
+ WHERE a.entity_type = 'SPRINT';
+
+UPDATE activity_log a JOIN comments c ON c.id = a.entity_id JOIN issues i ON i.id = c.issue_id
+   SET a.project_id = i.project_id
+ WHERE a.entity_type = 'COMMENT';
+
+UPDATE activity_log a JOIN attachments t ON t.id = a.entity_id JOIN issues i ON i.id = t.issue_id
+   SET a.project_id = i.project_id
+ WHERE a.entity_type = 'ATTACHMENT';
+
+CREATE INDEX ix_al_project ON activity_log (project_id, created_at, id);
@@ -0,0 +1,11 @@
+-- Table-based id allocator for issues (pooled, allocation size 50) so issue
+-- inserts can be JDBC-batched; IDENTITY forces one round trip per row.
+-- With the pooled optimizer a stored value V hands out V-49..V, so seed one
+-- full block past the current maximum.
+CREATE TABLE id_sequences (
+  sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'issues', COALESCE(MAX(id), 0) + 51 FROM issues;
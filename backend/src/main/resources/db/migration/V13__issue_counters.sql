@@ -0,0 +1,16 @@
+-- Materialised issue counts per (project, sprint, status, assignee), kept in step
+-- with issue writes. 0 stands for "no sprint" / "unassigned" so the key can be a PK.
+CREATE TABLE issue_counters (
+  project_id BIGINT NOT NULL,
+  sprint_id BIGINT NOT NULL DEFAULT 0,
+  status VARCHAR(20) NOT NULL,
+  assignee_id BIGINT NOT NULL DEFAULT 0,
+  issue_count INT NOT NULL DEFAULT 0,
+  story_points INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (project_id, sprint_id, status, assignee_id)
+);
+
+INSERT INTO issue_counters (project_id, sprint_id, status, assignee_id, issue_count, story_points)
+SELECT project_id, COALESCE(sprint_id, 0), status, COALESCE(assignee_id, 0), COUNT(*), COALESCE(SUM(story_points), 0)
+  FROM issues
+ GROUP BY project_id, COALESCE(sprint_id, 0), status, COALESCE(assignee_id, 0);
@@ -0,0 +1,24 @@
+-- Daily per-sprint totals for burndown, burnup and velocity reports.
+-- Upserted from issue_counters whenever a sprint's issues change, and once a
+-- day for every active sprint, so reports never scan issues.
+CREATE TABLE sprint_snapshots (
+  sprint_id BIGINT NOT NULL,
+  snapshot_date DATE NOT NULL,
+  project_id BIGINT NOT NULL,
+  total_issues INT NOT NULL,
+  done_issues INT NOT NULL,
+  total_points INT NOT NULL,
+  done_points INT NOT NULL,
+  PRIMARY KEY (sprint_id, snapshot_date),
+  KEY ix_ss_project (project_id, sprint_id)
+);
+
+INSERT INTO sprint_snapshots (sprint_id, snapshot_date, project_id, total_issues, done_issues, total_points, done_points)
+SELECT c.sprint_id, CURRENT_DATE, c.project_id,
+       SUM(c.issue_count),
+       SUM(CASE WHEN c.status = 'DONE' THEN c.issue_count ELSE 0 END),
+       SUM(c.story_points),
+       SUM(CASE WHEN c.status = 'DONE' THEN c.story_points ELSE 0 END)
+  FROM issue_counters c JOIN sprints s ON s.id = c.sprint_id
+ WHERE s.state = 'ACTIVE'
+ GROUP BY c.sprint_id, c.project_id;
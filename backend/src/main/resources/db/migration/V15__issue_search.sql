@@ -0,0 +1,24 @@
+-- Full-text search documents, one per issue: summary, description and all comment
+-- text concatenated. Maintained incrementally from outbox events by SearchIndexer.
+CREATE TABLE issue_search (
+  issue_id BIGINT NOT NULL PRIMARY KEY,
+  project_id BIGINT NOT NULL,
+  summary VARCHAR(255) NOT NULL,
+  description TEXT NULL,
+  comments MEDIUMTEXT NULL,
+  indexed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  KEY ix_search_project (project_id),
+  FULLTEXT KEY ft_search_summary (summary),
+  FULLTEXT KEY ft_search_all (summary, description, comments)
+);
+
+-- Position of each outbox consumer in outbox_events
+CREATE TABLE outbox_consumer_offsets (
+  consumer VARCHAR(64) NOT NULL PRIMARY KEY,
+  last_event_id BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO outbox_consumer_offsets (consumer, last_event_id)
+SELECT 'search-indexer', COALESCE(MAX(id), 0) FROM outbox_events;
+
+CREATE INDEX ix_outbox_type_id ON outbox_events (type, id);
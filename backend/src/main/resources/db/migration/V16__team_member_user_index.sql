@@ -0,0 +1,3 @@
+-- Lets "projects visible to me" and ACL loads find a user's memberships
+-- without scanning team_members; uq_team_member leads with project_id
+CREATE INDEX ix_team_user ON team_members (user_id, project_id);
@@ -0,0 +1,3 @@
+-- Outbox ids a consumer has passed but not seen committed yet, as "id:firstSeenMs,..."
+-- Rechecked on every poll so transactions that commit late are not skipped
+ALTER TABLE outbox_consumer_offsets ADD COLUMN pending_ids TEXT NULL;
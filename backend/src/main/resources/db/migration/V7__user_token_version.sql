@@ -0,0 +1,3 @@
+-- Bumped on logout / forced sign-out to invalidate outstanding refresh tokens
+ALTER TABLE users
+  ADD COLUMN token_version INT NOT NULL DEFAULT 0 AFTER is_active;
@@ -0,0 +1,4 @@
+-- System and failed-login events have no actor or entity
+ALTER TABLE activity_log
+  MODIFY entity_id BIGINT NULL,
+  MODIFY actor_id BIGINT NULL;
@@ -0,0 +1,11 @@
+-- Precomputed security flag so audit queries use an index instead of scanning actions
+ALTER TABLE activity_log
+  ADD COLUMN is_security BOOLEAN NOT NULL DEFAULT FALSE AFTER to_value;
+
+UPDATE activity_log
+   SET is_security = TRUE
+ WHERE action LIKE '%LOGIN%' OR action LIKE '%AUTH%' OR action LIKE '%DELETE%'
+    OR action LIKE '%ADMIN%' OR action LIKE '%ROLE%' OR action LIKE '%PERMISSION%'
+    OR entity_type = 'AUTH';
+
+CREATE INDEX ix_al_security ON activity_log (is_security, created_at, id);
@@ -0,0 +1,135 @@
+package com.tasksphere.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+
+class FanoutStompEncoderTest {
+
+    private static final byte[] PAYLOAD = "{\"type\":\"issue.updated\",\"id\":42}".getBytes(StandardCharsets.UTF_8);
+
+    private final StompEncoder standard = new StompEncoder();
+    private final FanoutStompEncoder fanout = new FanoutStompEncoder();
+
+    @Test
+    void encodesBroadcastFramesLikeTheStandardEncoder() {
+        for (int session = 0; session < 3; session++) {
+            assertEquivalent(message("/topic/project.1", "sub-" + session, "m-" + session), PAYLOAD);
+        }
+    }
+
+    @Test
+    void escapesHeaderKeysAndValues() {
+        Map<String, Object> headers = message("/topic/project.1", "sub:0\\a", "m\n1\r",
+                "x-note", "a:b\\c\nd\re", "x:key", "v");
+
+        assertEquivalent(headers, PAYLOAD);
+        // Second session on the cached tail
+        assertEquivalent(message("/topic/project.1", "sub-1", "m-1", "x-note", "a:b\\c\nd\re", "x:key", "v"), PAYLOAD);
+    }
+
+    @Test
+    void keepsRepeatedHeaderValuesInOrder() {
+        StompHeaderAccessor accessor = accessor("/topic/project.1", "sub-0", "m-0");
+        accessor.addNativeHeader("x-tag", "one");
+        accessor.addNativeHeader("x-tag", "two");
+
+        assertEquivalent(accessor.getMessageHeaders(), PAYLOAD);
+    }
+
+    @Test
+    void reencodesWhenSharedHeadersChangeForTheSamePayload() {
+        assertEquivalent(message("/topic/project.1", "sub-0", "m-0"), PAYLOAD);
+        assertEquivalent(message("/topic/project.2", "sub-1", "m-1"), PAYLOAD);
+        assertEquivalent(message("/topic/project.2", "sub-2", "m-2", "x-extra", "1"), PAYLOAD);
+        assertEquivalent(message("/topic/project.2", "sub-3", "m-3"), PAYLOAD);
+    }
+
+    @Test
+    void distinguishesPayloadsWithEqualContent() {
+        byte[] copy = PAYLOAD.clone();
+
+        assertEquivalent(message("/topic/project.1", "sub-0", "m-0"), PAYLOAD);
+        assertEquivalent(message("/topic/project.1", "sub-1", "m-1"), copy);
+        assertEquivalent(message("/topic/project.1", "sub-2", "m-2"), PAYLOAD);
+    }
+
+    @Test
+    void encodesBinaryBodiesWithNulBytes() {
+        assertEquivalent(message("/topic/project.1", "sub-0", "m-0"), new byte[] {1, 0, 2, 0, (byte) 0xff});
+    }
+
+    @Test
+    void fallsBackForNonAsciiHeadersEmptyBodiesAndOtherFrames() {
+        Map<String, Object> nonAscii = message("/topic/project.1", "sub-0", "m-0", "x-name", "Zoë");
+        assertThat(fanout.encode(nonAscii, PAYLOAD)).isEqualTo(standard.encode(nonAscii, PAYLOAD));
+
+        Map<String, Object> nonAsciiSession = message("/topic/project.1", "sub-ë", "m-1");
+        assertThat(fanout.encode(nonAsciiSession, PAYLOAD)).isEqualTo(standard.encode(nonAsciiSession, PAYLOAD));
+
+        Map<String, Object> empty = message("/topic/project.1", "sub-0", "m-0");
+        assertThat(fanout.encode(empty, new byte[0])).isEqualTo(standard.encode(empty, new byte[0]));
+
+        StompHeaderAccessor error = StompHeaderAccessor.create(StompCommand.ERROR);
+        error.setMessage("Access denied");
+        Map<String, Object> headers = error.getMessageHeaders();
+        assertThat(fanout.encode(headers, PAYLOAD)).isEqualTo(standard.encode(headers, PAYLOAD));
+    }
+
+    /**
+     * Same command line, the same header lines in any order, and the same blank line, body and NUL
+     */
+    private void assertEquivalent(Map<String, Object> headers, byte[] payload) {
+        byte[] expected = standard.encode(headers, payload);
+        byte[] actual = fanout.encode(headers, payload);
+
+        int expectedHead = headEnd(expected);
+        int actualHead = headEnd(actual);
+        assertThat(actual.length).isEqualTo(expected.length);
+        assertThat(Arrays.copyOfRange(actual, actualHead, actual.length))
+                .isEqualTo(Arrays.copyOfRange(expected, expectedHead, expected.length));
+        assertThat(headLines(actual, actualHead)[0]).isEqualTo("MESSAGE");
+        assertThat(headLines(actual, actualHead)).containsExactlyInAnyOrder(headLines(expected, expectedHead));
+    }
+
+    /** Index of the blank line ending the headers */
+    private static int headEnd(byte[] frame) {
+        for (int i = 0; i + 1 < frame.length; i++) {
+            if (frame[i] == '\n' && frame[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new AssertionError("No end of headers in " + new String(frame, StandardCharsets.UTF_8));
+    }
+
+    private static String[] headLines(byte[] frame, int end) {
+        return new String(frame, 0, end, StandardCharsets.UTF_8).split("\n");
+    }
+
+    private static Map<String, Object> message(String destination, String subscription, String messageId,
+                                               String... extra) {
+        StompHeaderAccessor accessor = accessor(destination, subscription, messageId);
+        for (int i = 0; i < extra.length; i += 2) {
+            accessor.setNativeHeader(extra[i], extra[i + 1]);
+        }
+        return accessor.getMessageHeaders();
+    }
+
+    private static StompHeaderAccessor accessor(String destination, String subscription, String messageId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setNativeHeader("destination", destination);
+        accessor.setNativeHeader("content-type", "application/json");
+        accessor.setNativeHeader("subscription", subscription);
+        accessor.setNativeHeader("message-id", messageId);
+        accessor.setNativeHeader("ack", "auto");
+        accessor.setNativeHeader("content-length", String.valueOf(PAYLOAD.length));
+        return accessor;
+    }
+}
@@ -0,0 +1,85 @@
+package com.tasksphere.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class EventIdWindowTest {
+
+    @Test
+    void detectsDuplicates() {
+        EventIdWindow window = new EventIdWindow(4, 1024, 1_000);
+
+        assertThat(window.add(hash("evt-1"), 10_000)).isTrue();
+        assertThat(window.add(hash("evt-2"), 10_000)).isTrue();
+        assertThat(window.add(hash("evt-1"), 10_001)).isFalse();
+        assertThat(window.add(hash("evt-2"), 10_002)).isFalse();
+        assertThat(window.size()).isEqualTo(2);
+    }
+
+    @Test
+    void remembersIdsForAtLeastThreeQuartersOfTheWindow() {
+        EventIdWindow window = new EventIdWindow(4, 1024, 1_000);
+        long id = hash("evt-1");
+        window.add(id, 10_000);
+
+        // Regular traffic rotates a generation every 250 ms
+        for (long now = 10_050; now < 11_000; now += 50) {
+            assertThat(window.add(id, now)).as("at %d", now).isFalse();
+            window.add(hash("other-" + now), now);
+        }
+        assertThat(window.add(id, 11_000)).isTrue();
+    }
+
+    @Test
+    void forgetsEverythingAfterAnIdlePeriod() {
+        EventIdWindow window = new EventIdWindow(4, 1024, 1_000);
+        for (int i = 0; i < 100; i++) {
+            window.add(hash("evt-" + i), 10_000 + i);
+        }
+
+        assertThat(window.add(hash("evt-0"), 60_000)).isTrue();
+        assertThat(window.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rotatesEarlyWhenAGenerationIsFull() {
+        // 4 generations of 8 ids each
+        EventIdWindow window = new EventIdWindow(4, 8, 60_000);
+        for (int i = 0; i < 100; i++) {
+            assertThat(window.add(hash("evt-" + i), 10_000)).isTrue();
+        }
+
+        assertThat(window.size()).isLessThanOrEqualTo(32);
+        for (int i = 100 - 24; i < 100; i++) {
+            assertThat(window.add(hash("evt-" + i), 10_000)).as("evt-%d", i).isFalse();
+        }
+        assertThat(window.add(hash("evt-0"), 10_000)).isTrue();
+    }
+
+    @Test
+    void acceptsAZeroHash() {
+        EventIdWindow window = new EventIdWindow(2, 16, 1_000);
+
+        assertThat(window.add(0, 10_000)).isTrue();
+        assertThat(window.add(0, 10_000)).isFalse();
+        assertThat(window.size()).isEqualTo(1);
+    }
+
+    @Test
+    void hashCoversOnlyTheGivenRange() {
+        byte[] frame = "id:evt-1\nchannel:project.1\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(EventIdWindow.hash(frame, 3, 8)).isEqualTo(hash("evt-1"));
+        assertThat(hash("evt-1")).isEqualTo(hash("evt-1"));
+        assertThat(hash("evt-1")).isNotEqualTo(hash("evt-2"));
+        assertThat(EventIdWindow.hash(frame, 0, 0)).isEqualTo(hash(""));
+    }
+
+    private static long hash(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        return EventIdWindow.hash(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,147 @@
+package com.tasksphere.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.tasksphere.search.PrefixIndex.Doc;
+
+class PrefixIndexTest {
+
+    private static final LongPredicate ALL = x -> true;
+    private static final String[] VOCAB = {"login", "logout", "billing", "search", "export", "import", "deploy"};
+
+    /** 60k issues over three scopes of 20k, so no single query covers the corpus exhaustively */
+    private static List<Doc> corpus;
+    private static PrefixIndex index;
+
+    @BeforeAll
+    static void buildCorpus() {
+        corpus = new ArrayList<>();
+        for (long id = 1; id <= 60_000; id++) {
+            corpus.add(new Doc(id, id % 3 + 1,
+                    "PROJ-" + id + " Fix " + VOCAB[(int) (id % VOCAB.length)] + (id % 1000 == 0 ? " zebra" : " task")));
+        }
+        index = PrefixIndex.build(corpus);
+    }
+
+    @Test
+    void buildKeepsTheLastDocumentForAnId() {
+        PrefixIndex small = PrefixIndex.build(List.of(
+                new Doc(5, 1, "old title"), new Doc(2, 1, "other"), new Doc(5, 2, "new title")));
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.docs()).containsExactly(new Doc(2, 1, "other"), new Doc(5, 2, "new title"));
+        assertThat(small.search("old", ALL, ALL, 10)).isEmpty();
+        assertThat(small.search("new", ALL, ALL, 10)).containsExactly(new Doc(5, 2, "new title"));
+    }
+
+    @Test
+    void termRangeLookupHandlesBoundsAndNonAscii() {
+        PrefixIndex small = PrefixIndex.build(List.of(
+                new Doc(1, 0, "alpha"), new Doc(2, 0, "beta"), new Doc(3, 0, "gamma"),
+                new Doc(4, 0, "Straße Übergang")));
+
+        assertThat(ids(small.search("a", ALL, ALL, 10))).containsExactly(1L);
+        assertThat(ids(small.search("gamma", ALL, ALL, 10))).containsExactly(3L);
+        assertThat(small.search("aa", ALL, ALL, 10)).isEmpty();
+        assertThat(small.search("alphabet", ALL, ALL, 10)).isEmpty();
+        assertThat(small.search("zz", ALL, ALL, 10)).isEmpty();
+        assertThat(ids(small.search("straß", ALL, ALL, 10))).containsExactly(4L);
+        assertThat(ids(small.search("über", ALL, ALL, 10))).containsExactly(4L);
+        assertThat(small.search("g b", ALL, ALL, 10)).isEmpty();
+    }
+
+    @Test
+    void termsKeepTokensAsTypedAndTheirParts() {
+        assertThat(PrefixIndex.terms("Mail (alice@example.com), PROJ-12!"))
+                .containsExactly("mail", "alice@example.com", "alice", "example", "com", "proj-12", "proj", "12");
+        assertThat(PrefixIndex.terms("abcdefghijklmnopqrstuvwxyz0123"))
+                .containsExactly("abcdefghijklmnopqrstuvwx");
+        assertThat(PrefixIndex.terms(" ... ")).isEmpty();
+    }
+
+    @Test
+    void wordsAreLowercasedTrimmedAndCut() {
+        assertThat(PrefixIndex.words("  Foo  (bar) ")).containsExactly("foo", "bar");
+        assertThat(PrefixIndex.words("abcdefghijklmnopqrstuvwxyz0123")).containsExactly("abcdefghijklmnopqrstuvwx");
+        assertThat(PrefixIndex.words("--- ")).isEmpty();
+        assertThat(PrefixIndex.words(null)).isEmpty();
+    }
+
+    @Test
+    void longLabelsAreFoundByTheirFullWord() {
+        PrefixIndex small = PrefixIndex.build(List.of(new Doc(1, 0, "abcdefghijklmnopqrstuvwxyz0123 end")));
+
+        assertThat(ids(small.search("ABCDEFGHIJKLMNOPQRSTUVWXYZ0123", ALL, ALL, 10))).containsExactly(1L);
+        assertThat(small.search("abcdefghijklmnopqrstuvwxyz9", ALL, ALL, 10)).hasSize(1);
+    }
+
+    @Test
+    void blankQueriesAndEmptyIndexMatchNothing() {
+        assertThat(index.search("", ALL, ALL, 10)).isEmpty();
+        assertThat(index.search("   ", ALL, ALL, 10)).isEmpty();
+        assertThat(index.search(null, ALL, ALL, 10)).isEmpty();
+        assertThat(PrefixIndex.EMPTY.search("proj", ALL, ALL, 10)).isEmpty();
+    }
+
+    @Test
+    void fewMatchingTermsAreMergedNewestFirst() {
+        // One term, 60 postings
+        assertMatchesOracle("zebra", ALL, ALL, 25);
+        assertMatchesOracle("Zebra login", ALL, ALL, 100);
+        assertMatchesOracle("zebra", s -> s != 2, ALL, 100);
+    }
+
+    @Test
+    void manyRareTermsAreGatheredAndSorted() {
+        // 11,111 issue keys start with proj-1
+        assertMatchesOracle("proj-1", ALL, ALL, 50);
+        assertMatchesOracle("proj-1", ALL, id -> id % 7 != 0, 20_000);
+        assertMatchesOracle("PROJ-12 billing", s -> s != 1, ALL, 1_000);
+    }
+
+    @Test
+    void commonPrefixesAreScannedNewestFirst() {
+        assertMatchesOracle("proj-", ALL, ALL, 50);
+        assertMatchesOracle("proj-", s -> s != 1, id -> id % 2 == 0, 100);
+    }
+
+    @Test
+    void commonPrefixScanStopsAfterMaxScanDocuments() {
+        // The only accepted ids are the oldest ones, beyond the newest MAX_SCAN documents
+        assertThat(index.search("proj-", ALL, id -> id <= 100, 10)).isEmpty();
+    }
+
+    @Test
+    void smallScopeIsCheckedExhaustively() {
+        // A single scope of 20,000 documents is within MAX_SCAN, so even the oldest ids are found
+        LongPredicate scopeOne = s -> s == 1;
+        assertMatchesOracle("proj-", scopeOne, id -> id <= 100, 100);
+        assertMatchesOracle("proj-", scopeOne, ALL, 25_000);
+        assertThat(index.search("proj-", scopeOne, ALL, 25_000)).hasSize(20_000);
+        assertThat(index.search("zebra", s -> s == 9, ALL, 10)).isEmpty();
+    }
+
+    private static void assertMatchesOracle(String query, LongPredicate inScope, LongPredicate filter, int limit) {
+        String[] words = PrefixIndex.words(query);
+        List<Doc> expected = corpus.stream()
+                .filter(d -> inScope.test(d.scope()) && filter.test(d.id()) && PrefixIndex.matches(d.label(), words))
+                .sorted(Comparator.comparingLong(Doc::id).reversed())
+                .limit(limit)
+                .toList();
+
+        assertThat(expected).as("oracle for %s", query).isNotEmpty();
+        assertThat(index.search(query, inScope, filter, limit)).as(query).containsExactlyElementsOf(expected);
+    }
+
+    private static List<Long> ids(List<Doc> docs) {
+        return docs.stream().map(Doc::id).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.tasksphere.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+
+import com.tasksphere.domain.issue.IssueRepository;
+import com.tasksphere.domain.sprint.SprintRepository;
+
+class TopicSubscriptionInterceptorTest {
+
+    private static final AuthPrincipal USER = new AuthPrincipal(7L, "dev@example.com", "Dev",
+            List.of("DEV"), Map.of(), 0L);
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private TopicSubscriptionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAclService acls = mock(ProjectAclService.class);
+        IssueRepository issues = mock(IssueRepository.class);
+        SprintRepository sprints = mock(SprintRepository.class);
+        when(acls.acl(7L)).thenReturn(ProjectAcl.of(new long[]{1L}, new String[]{"DEV"}, 0L));
+        when(issues.findProjectIdById(10L)).thenReturn(Optional.of(1L));
+        when(issues.findProjectIdById(20L)).thenReturn(Optional.of(2L));
+        when(sprints.findProjectIdById(30L)).thenReturn(Optional.of(1L));
+        interceptor = new TopicSubscriptionInterceptor(acls, issues, sprints);
+    }
+
+    @Test
+    void allowsTopicsOfAccessibleProjects() {
+        for (String destination : List.of("/topic/project.1", "/topic/issue.10", "/topic/sprint.30",
+                "/topic/user.7")) {
+            Message<?> message = subscribe(destination, USER);
+            assertThat(interceptor.preSend(message, channel)).isSameAs(message);
+        }
+    }
+
+    @Test
+    void refusesTopicsOfOtherProjectsAndUsers() {
+        for (String destination : List.of("/topic/project.2", "/topic/issue.20", "/topic/issue.99",
+                "/topic/user.8")) {
+            assertRefused(destination);
+        }
+    }
+
+    @Test
+    void refusesPatternSubscriptions() {
+        for (String destination : List.of("/topic*/**", "/topic/**", "/topic/issue.*", "/topic/issue.1?",
+                "/topic/{kind}.1", "/topic*", "/user/queue/*")) {
+            assertRefused(destination);
+        }
+    }
+
+    @Test
+    void refusesAnythingElseUnderTheBrokerPrefix() {
+        for (String destination : List.of("/topic", "/topic/", "/topics/issue.10", "/topic/issue.10/x",
+                "/topic/issue.", "/topic/issue.-1", "/topic/board.1", "/topic/issue.99999999999999999999")) {
+            assertRefused(destination);
+        }
+    }
+
+    @Test
+    void ignoresOtherDestinationsAndFrames() {
+        Message<?> app = subscribe("/app/session/resume-token", USER);
+        assertThat(interceptor.preSend(app, channel)).isSameAs(app);
+
+        SimpMessageHeaderAccessor send = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        send.setDestination("/topic/project.2");
+        Message<?> message = MessageBuilder.createMessage(new byte[0], send.getMessageHeaders());
+        assertThat(interceptor.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void refusesUnauthenticatedSessions() {
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/project.1", null), channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private void assertRefused(String destination) {
+        assertThatThrownBy(() -> interceptor.preSend(subscribe(destination, USER), channel))
+                .as(destination)
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static Message<?> subscribe(String destination, AuthPrincipal user) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setDestination(destination);
+        Map<String, Object> attributes = new HashMap<>();
+        if (user != null) {
+            attributes.put("user", user);
+        }
+        accessor.setSessionAttributes(attributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
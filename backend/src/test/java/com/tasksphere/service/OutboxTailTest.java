@@ -0,0 +1,176 @@
+package com.tasksphere.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.tasksphere.domain.outbox.OutboxEvent;
+import com.tasksphere.domain.outbox.OutboxEventRepository;
+
+class OutboxTailTest {
+
+    private static final Set<String> TYPES = Set.of("issue.updated");
+
+    /** Committed rows, as the repository queries see them */
+    private final TreeMap<Long, OutboxEvent> committed = new TreeMap<>();
+    private final OutboxEventRepository outbox = mock(OutboxEventRepository.class);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(outbox.findIdsAfter(anyLong(), any(Limit.class))).thenAnswer(inv -> committed
+                .tailMap(inv.getArgument(0, Long.class), false).keySet().stream()
+                .limit(inv.getArgument(1, Limit.class).max())
+                .toList());
+        when(outbox.findIdsIn(anyCollection())).thenAnswer(inv -> ((Collection<Long>) inv.getArgument(0)).stream()
+                .filter(committed::containsKey)
+                .sorted()
+                .toList());
+        when(outbox.findByIdInAndTypeIn(anyCollection(), anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            Collection<String> types = inv.getArgument(1);
+            return committed.values().stream()
+                    .filter(e -> ids.contains(e.getId()) && types.contains(e.getType()))
+                    .toList();
+        });
+    }
+
+    @Test
+    void readsNewIdsOfWantedTypesAndAdvancesHighWater() {
+        commit(1, "issue.updated");
+        commit(2, "comment.added");
+        commit(3, "issue.updated");
+        commit(4, "issue.updated");
+        OutboxTail tail = new OutboxTail(0, 1_000);
+
+        OutboxTail.Batch batch = tail.next(outbox, TYPES, 3, 1_000);
+
+        assertThat(ids(batch)).containsExactly(1L, 3L);
+        assertThat(batch.scanned()).isEqualTo(3);
+        assertThat(tail.getHighWater()).isEqualTo(3);
+        assertThat(tail.encodePending()).isNull();
+
+        batch = tail.next(outbox, TYPES, 3, 1_000);
+        assertThat(ids(batch)).containsExactly(4L);
+        assertThat(tail.getHighWater()).isEqualTo(4);
+
+        batch = tail.next(outbox, TYPES, 3, 1_000);
+        assertThat(batch.events()).isEmpty();
+        assertThat(batch.scanned()).isZero();
+        assertThat(tail.getHighWater()).isEqualTo(4);
+    }
+
+    @Test
+    void deliversLateCommitsBelowHighWater() {
+        commit(1, "issue.updated");
+        commit(4, "issue.updated");
+        OutboxTail tail = new OutboxTail(0, 10_000);
+
+        assertThat(ids(tail.next(outbox, TYPES, 10, 1_000))).containsExactly(1L, 4L);
+        assertThat(tail.encodePending()).isEqualTo("2:1000,3:1000");
+
+        commit(3, "issue.updated");
+        commit(5, "issue.updated");
+        OutboxTail.Batch batch = tail.next(outbox, TYPES, 10, 2_000);
+
+        assertThat(ids(batch)).containsExactly(3L, 5L);
+        assertThat(batch.scanned()).isEqualTo(1);
+        assertThat(tail.encodePending()).isEqualTo("2:1000");
+        assertThat(tail.getHighWater()).isEqualTo(5);
+    }
+
+    @Test
+    void lateCommitsOfOtherTypesLeavePendingWithoutBeingDelivered() {
+        commit(1, "issue.updated");
+        commit(3, "issue.updated");
+        OutboxTail tail = new OutboxTail(0, 10_000);
+        tail.next(outbox, TYPES, 10, 1_000);
+
+        commit(2, "comment.added");
+
+        assertThat(tail.next(outbox, TYPES, 10, 2_000).events()).isEmpty();
+        assertThat(tail.encodePending()).isNull();
+    }
+
+    @Test
+    void givesUpOnGapsAfterTheTimeout() {
+        commit(1, "issue.updated");
+        commit(3, "issue.updated");
+        OutboxTail tail = new OutboxTail(0, 500);
+        tail.next(outbox, TYPES, 10, 1_000);
+
+        tail.next(outbox, TYPES, 10, 1_500);
+        assertThat(tail.encodePending()).isEqualTo("2:1000");
+
+        tail.next(outbox, TYPES, 10, 1_501);
+        assertThat(tail.encodePending()).isNull();
+
+        commit(2, "issue.updated");
+        assertThat(tail.next(outbox, TYPES, 10, 1_600).events()).isEmpty();
+    }
+
+    @Test
+    void tracksAtMostMaxPendingGaps() {
+        commit(1, "issue.updated");
+        commit(5_000, "issue.updated");
+        OutboxTail tail = new OutboxTail(0, 10_000);
+
+        assertThat(ids(tail.next(outbox, TYPES, 10, 1_000))).containsExactly(1L, 5_000L);
+
+        String[] pending = tail.encodePending().split(",");
+        assertThat(pending).hasSize(OutboxTail.MAX_PENDING);
+        assertThat(pending[0]).isEqualTo("2:1000");
+        assertThat(pending[OutboxTail.MAX_PENDING - 1]).isEqualTo((OutboxTail.MAX_PENDING + 1) + ":1000");
+        assertThat(tail.getHighWater()).isEqualTo(5_000);
+    }
+
+    @Test
+    void pendingIdsSurviveEncodeAndRestore() {
+        commit(1, "issue.updated");
+        commit(4, "issue.updated");
+        OutboxTail tail = new OutboxTail(0, 10_000);
+        tail.next(outbox, TYPES, 10, 1_000);
+
+        OutboxTail restored = OutboxTail.restore(tail.getHighWater(), tail.encodePending(), 10_000);
+
+        assertThat(restored.getHighWater()).isEqualTo(4);
+        assertThat(restored.encodePending()).isEqualTo(tail.encodePending());
+
+        commit(2, "issue.updated");
+        assertThat(ids(restored.next(outbox, TYPES, 10, 2_000))).containsExactly(2L);
+        assertThat(restored.encodePending()).isEqualTo("3:1000");
+    }
+
+    @Test
+    void restoreSkipsMalformedEntries() {
+        assertThat(OutboxTail.restore(9, "x:1,5,7:100,8:", 1_000).encodePending()).isEqualTo("7:100");
+        assertThat(OutboxTail.restore(9, null, 1_000).encodePending()).isNull();
+        assertThat(OutboxTail.restore(9, " ", 1_000).encodePending()).isNull();
+    }
+
+    private void commit(long id, String type) {
+        OutboxEvent e = new OutboxEvent();
+        e.setId(id);
+        e.setEventId("evt-" + id);
+        e.setType(type);
+        e.setChannel("project.1");
+        e.setPayload("{}");
+        committed.put(id, e);
+    }
+
+    private static List<Long> ids(OutboxTail.Batch batch) {
+        return batch.events().stream().map(OutboxEvent::getId).toList();
+    }
+}
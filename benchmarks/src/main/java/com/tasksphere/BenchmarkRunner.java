@@ -0,0 +1,46 @@
+package com.tasksphere;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the results as JSON for comparison across commits
+ *
+ *   java -Dbench.label=$(git rev-parse --short HEAD) -cp target/benchmarks.jar \
+ *        com.tasksphere.BenchmarkRunner [JMH options] [benchmark regexps]
+ *
+ * Results go to target/jmh/{label}.json (override the directory with
+ * -Dbench.out); the label defaults to the current time. All regular JMH
+ * options apply. IssueSearchBenchmark needs MySQL and is skipped unless
+ * -Dbench.jdbc.url is set.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String label = System.getProperty("bench.label",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Path out = Path.of(System.getProperty("bench.out", "target/jmh"), label + ".json");
+        Files.createDirectories(out.toAbsolutePath().getParent());
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(out.toString());
+        if (System.getProperty("bench.jdbc.url") == null) {
+            options.exclude("IssueSearchBenchmark");
+        }
+        new Runner(options.build()).run();
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+}
@@ -0,0 +1,155 @@
+package com.tasksphere.domain.issue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Issue search against a real MySQL: ranked query latency over a project of
+ * 1M issues, and document (re)build throughput.
+ *
+ * Needs a database migrated by the backend (Flyway V15+), passed as
+ *   -Dbench.jdbc.url=jdbc:mysql://localhost:3306/tasksphere_bench
+ *   -Dbench.jdbc.user=... -Dbench.jdbc.password=...
+ * The first run seeds a BENCH project with synthetic issues and indexes them,
+ * which takes several minutes; later runs reuse it. Use a throwaway schema.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IssueSearchBenchmark {
+
+    static final int INDEX_BATCH = 500;
+    private static final int SEED_BATCH = 5000;
+
+    // Zipf-ish vocabulary: early words are common, late words rare
+    private static final String[] WORDS = {
+        "login", "page", "error", "user", "button", "api", "timeout", "report", "export", "dashboard",
+        "sprint", "board", "filter", "search", "upload", "attachment", "email", "notification", "session", "token",
+        "cache", "latency", "migration", "index", "permission", "role", "invite", "webhook", "retry", "crash",
+        "android", "safari", "pagination", "locale", "timezone", "currency", "invoice", "oauth", "saml", "csv"
+    };
+
+    @Param({"1000000"})
+    int issues;
+
+    @Param({"common", "rare", "phrase"})
+    String queryKind;
+
+    SingleConnectionDataSource dataSource;
+    IssueSearchRepository repo;
+    long projectId;
+    long minIssueId;
+    long maxIssueId;
+
+    @Setup
+    public void setup() {
+        dataSource = new SingleConnectionDataSource(
+                System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/tasksphere_bench"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", ""), true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        repo = new IssueSearchRepository(jdbc, new NamedParameterJdbcTemplate(jdbc));
+
+        jdbc.update("INSERT IGNORE INTO users (name, email, password_hash) VALUES ('Bench', 'bench@tasksphere.local', '-')");
+        long userId = jdbc.queryForObject("SELECT id FROM users WHERE email = 'bench@tasksphere.local'", Long.class);
+        jdbc.update("INSERT IGNORE INTO projects (`key`, name, owner_id) VALUES ('BENCH', 'Search benchmark', ?)", userId);
+        projectId = jdbc.queryForObject("SELECT id FROM projects WHERE `key` = 'BENCH'", Long.class);
+
+        seedIssues(jdbc, userId);
+        minIssueId = jdbc.queryForObject("SELECT MIN(id) FROM issues WHERE project_id = ?", Long.class, projectId);
+        maxIssueId = jdbc.queryForObject("SELECT MAX(id) FROM issues WHERE project_id = ?", Long.class, projectId);
+
+        long start = System.nanoTime();
+        long indexed = 0;
+        List<Long> ids;
+        while (!(ids = repo.findUnindexed(0, INDEX_BATCH)).isEmpty()) {
+            indexed += repo.index(ids) > 0 ? ids.size() : 0;
+        }
+        if (indexed > 0) {
+            System.out.printf("Indexed %d issues in %d s%n", indexed,
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        }
+    }
+
+    private void seedIssues(JdbcTemplate jdbc, long userId) {
+        long existing = jdbc.queryForObject("SELECT COUNT(*) FROM issues WHERE project_id = ?", Long.class, projectId);
+        SplittableRandom random = new SplittableRandom(42);
+        for (long n = existing; n < issues; n += SEED_BATCH) {
+            List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+            for (int i = 0; i < SEED_BATCH && n + i < issues; i++) {
+                rows.add(new Object[] {projectId, userId, text(random, 8), text(random, 60)});
+            }
+            jdbc.batchUpdate("INSERT INTO issues (project_id, type, status, priority, reporter_id, summary, description) " +
+                    "VALUES (?, 'TASK', 'TODO', 'MEDIUM', ?, ?, ?)", rows);
+        }
+    }
+
+    private static String text(SplittableRandom random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // Squaring a uniform draw skews picks toward the front of the vocabulary
+            double u = random.nextDouble();
+            sb.append(i > 0 ? " " : "").append(WORDS[(int) (u * u * WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    private String query() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return switch (queryKind) {
+            case "common" -> WORDS[r.nextInt(5)];
+            case "rare" -> WORDS[WORDS.length - 1 - r.nextInt(5)];
+            default -> WORDS[r.nextInt(10)] + " " + WORDS[10 + r.nextInt(20)];
+        };
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<IssueSearchRepository.Hit> firstPage() {
+        return repo.search(projectId, query(), Double.MAX_VALUE, Long.MAX_VALUE, 21);
+    }
+
+    /**
+     * Rebuild INDEX_BATCH consecutive documents; score is documents per second
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(INDEX_BATCH)
+    public int reindexBatch() {
+        long from = ThreadLocalRandom.current().nextLong(minIssueId, Math.max(minIssueId + 1, maxIssueId - INDEX_BATCH));
+        List<Long> ids = new ArrayList<>(INDEX_BATCH);
+        for (long id = from; id < from + INDEX_BATCH; id++) {
+            ids.add(id);
+        }
+        return repo.index(ids);
+    }
+}
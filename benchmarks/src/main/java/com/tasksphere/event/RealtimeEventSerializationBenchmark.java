@@ -0,0 +1,53 @@
+package com.tasksphere.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+/**
+ * RealtimeEvent through the serializer of the Redis template used by
+ * RealtimePublisher, in both directions, with a typical comment payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RealtimeEventSerializationBenchmark {
+
+    GenericJackson2JsonRedisSerializer serializer;
+    RealtimeEvent event;
+    byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = new GenericJackson2JsonRedisSerializer();
+        event = new RealtimeEvent("6f1c2b8e-9d4a-4c1e-8f3b-2a7d5e9c0b14", "comment.added", 12L, "System");
+        event.setIssueId(4711L);
+        event.setPayload("{\"commentId\":90211,\"issueId\":4711,\"projectId\":12,\"authorId\":7,"
+                + "\"author\":\"Alice Smith\",\"excerpt\":\"Reproduced on staging, the retry loop never backs off "
+                + "when the token refresh fails; patch incoming.\",\"truncated\":false,\"createdAt\":1760870400000}");
+        bytes = serializer.serialize(event);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(event);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+}
@@ -0,0 +1,118 @@
+package com.tasksphere.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Typeahead lookups over 100k users and 1M issues, per keystroke.
+ * Setup prints the retained size of each index (JOL) and the build time.
+ * Queries grow one character at a time, as a user types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class PrefixIndexBenchmark {
+
+    private static final String[] FIRST = {
+        "alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi", "ivan", "judy",
+        "mallory", "niaj", "olivia", "peggy", "rupert", "sybil", "trent", "victor", "walter", "yusuf"
+    };
+    private static final String[] LAST = {
+        "smith", "jones", "garcia", "miller", "davis", "lopez", "wilson", "anderson", "thomas", "taylor",
+        "moore", "jackson", "martin", "lee", "perez", "thompson", "white", "harris", "sanchez", "clark"
+    };
+    private static final String[] WORDS = {
+        "login", "page", "error", "user", "button", "api", "timeout", "report", "export", "dashboard",
+        "sprint", "board", "filter", "search", "upload", "attachment", "email", "notification", "session", "token",
+        "cache", "latency", "migration", "index", "permission", "role", "invite", "webhook", "retry", "crash"
+    };
+    private static final String[] KEYS = {"CORE", "WEB", "MOB", "API", "OPS", "DATA", "PAY", "AUTH"};
+
+    @Param({"100000"})
+    int users;
+
+    @Param({"1000000"})
+    int issues;
+
+    @Param({"s", "alice sm", "login tim", "core-12"})
+    String query;
+
+    PrefixIndex userIndex;
+    PrefixIndex issueIndex;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(7);
+
+        List<PrefixIndex.Doc> userDocs = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            String first = FIRST[random.nextInt(FIRST.length)];
+            String last = LAST[random.nextInt(LAST.length)];
+            userDocs.add(new PrefixIndex.Doc(i, 0, capitalize(first) + " " + capitalize(last) + " · "
+                    + first + "." + last + i + "@example.com"));
+        }
+
+        List<PrefixIndex.Doc> issueDocs = new ArrayList<>(issues);
+        for (int i = 1; i <= issues; i++) {
+            int project = random.nextInt(KEYS.length);
+            StringBuilder summary = new StringBuilder();
+            for (int w = 0, n = 4 + random.nextInt(6); w < n; w++) {
+                double u = random.nextDouble();
+                summary.append(w > 0 ? " " : "").append(WORDS[(int) (u * u * WORDS.length)]);
+            }
+            issueDocs.add(new PrefixIndex.Doc(i, project + 1, KEYS[project] + "-" + i + " · " + summary));
+        }
+
+        userIndex = report("users", userDocs);
+        issueIndex = report("issues", issueDocs);
+    }
+
+    private static PrefixIndex report(String name, List<PrefixIndex.Doc> docs) {
+        long start = System.nanoTime();
+        PrefixIndex index = PrefixIndex.build(docs);
+        long buildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long bytes = GraphLayout.parseInstance(index).totalSize();
+        System.out.printf("%n%s: %d docs, built in %d ms, retained %.1f MB (%d bytes/doc)%n",
+                name, index.size(), buildMs, bytes / 1048576.0, bytes / Math.max(1, index.size()));
+        return index;
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Doc> users() {
+        return userIndex.search(query, s -> true, id -> true, 8);
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Doc> issues() {
+        return issueIndex.search(query, s -> true, id -> true, 8);
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Doc> issuesInProject() {
+        long project = 1 + ThreadLocalRandom.current().nextInt(KEYS.length);
+        return issueIndex.search(query, s -> s == project, id -> true, 8);
+    }
+}
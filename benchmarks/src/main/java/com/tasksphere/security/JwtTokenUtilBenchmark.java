@@ -0,0 +1,102 @@
+package com.tasksphere.security;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tasksphere.domain.user.User;
+import com.tasksphere.domain.user.UserRepository;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Access token cost per request: HS256 verification and claim parsing, the
+ * principal built from the claims, and issuing a token at login. The user
+ * repository is a stub returning five project roles, so generation measures
+ * signing and serialization only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    JwtTokenUtil jwt;
+    User user;
+    List<String> roles;
+    String token;
+    AuthPrincipal principal;
+
+    @Setup
+    public void setup() throws Exception {
+        List<UserRepository.ProjectRole> projectRoles = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            long projectId = i * 11;
+            projectRoles.add(new UserRepository.ProjectRole() {
+                public Long getProjectId() {
+                    return projectId;
+                }
+
+                public String getRole() {
+                    return projectId % 2 == 0 ? "MANAGER" : "DEV";
+                }
+            });
+        }
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findProjectRoles")) {
+                        return projectRoles;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        jwt = new JwtTokenUtil(users);
+        Field secret = JwtTokenUtil.class.getDeclaredField("secret");
+        secret.setAccessible(true);
+        secret.set(jwt, "benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+        jwt.init();
+
+        user = new User();
+        user.setId(4242L);
+        user.setName("Alice Smith");
+        user.setEmail("alice.smith@example.com");
+        roles = List.of("DEV", "PROJECT_MANAGER");
+        token = jwt.generateAccessToken(user, roles);
+        principal = jwt.toPrincipal(jwt.validate(token));
+    }
+
+    @Benchmark
+    public Claims validate() {
+        return jwt.validate(token);
+    }
+
+    @Benchmark
+    public AuthPrincipal validateToPrincipal() {
+        return jwt.toPrincipal(jwt.validate(token));
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwt.generateAccessToken(user, roles);
+    }
+
+    @Benchmark
+    public String generateWsTicket() {
+        return jwt.generateWsTicket(principal, 30_000);
+    }
+}
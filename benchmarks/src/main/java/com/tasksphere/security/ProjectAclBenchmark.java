@@ -0,0 +1,55 @@
+package com.tasksphere.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cached permission check: a user in memberships projects, probed with a mix
+ * of projects they belong to and projects they do not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectAclBenchmark {
+
+    @Param({"5", "50", "500"})
+    int memberships;
+
+    ProjectAcl acl;
+
+    @Setup
+    public void setup() {
+        long[] projects = new long[memberships];
+        String[] roles = new String[memberships];
+        for (int i = 0; i < memberships; i++) {
+            projects[i] = 1 + i * 7L;
+            roles[i] = i % 10 == 0 ? "OWNER" : i % 3 == 0 ? "MANAGER" : "DEV";
+        }
+        acl = ProjectAcl.of(projects, roles, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public boolean canAccess() {
+        return acl.canAccess(ThreadLocalRandom.current().nextLong(1, memberships * 14L));
+    }
+
+    @Benchmark
+    public boolean canManage() {
+        return acl.canManage(ThreadLocalRandom.current().nextLong(1, memberships * 14L));
+    }
+}
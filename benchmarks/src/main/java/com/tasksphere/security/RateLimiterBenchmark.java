@@ -0,0 +1,63 @@
+package com.tasksphere.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tasksphere.config.AppProperties;
+import com.tasksphere.security.ratelimit.LocalRequestRateLimiter;
+
+/**
+ * RateLimiter.checkApiRateLimit on the local (no Redis) backend: requests
+ * spread over many clients that stay within their budget, and one client far
+ * over it, where every call is rejected with an exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 1 << 20;
+
+    RateLimiter limiter;
+    String[] identifiers;
+    int next;
+
+    @Setup
+    public void setup() {
+        AppProperties props = new AppProperties();
+        limiter = new RateLimiter(new LocalRequestRateLimiter(props), props);
+        identifiers = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            identifiers[i] = "10." + (i >>> 16) + "." + ((i >>> 8) & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public void allowed() {
+        // Each client sees one call per 2^20, far below 100 per minute
+        limiter.checkApiRateLimit(identifiers[next++ & (CLIENTS - 1)]);
+    }
+
+    @Benchmark
+    public boolean rejected() {
+        try {
+            limiter.checkApiRateLimit("10.0.0.1");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
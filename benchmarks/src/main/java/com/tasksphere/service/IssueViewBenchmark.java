@@ -0,0 +1,64 @@
+package com.tasksphere.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tasksphere.domain.issue.Issue;
+import com.tasksphere.domain.user.User;
+import com.tasksphere.dto.issue.IssueView;
+
+/**
+ * IssueService.toView over loaded entities, with and without an assignee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueViewBenchmark {
+
+    Issue[] issues;
+    int next;
+
+    @Setup
+    public void setup() {
+        User reporter = user(1L, "Alice Smith");
+        User assignee = user(2L, "Bob Jones");
+        issues = new Issue[64];
+        for (int i = 0; i < issues.length; i++) {
+            Issue issue = new Issue();
+            issue.setId(1000L + i);
+            issue.setType(i % 3 == 0 ? "BUG" : "TASK");
+            issue.setStatus("IN_PROGRESS");
+            issue.setPriority("HIGH");
+            issue.setSummary("Retry loop never backs off when the token refresh fails #" + i);
+            issue.setReporter(reporter);
+            issue.setAssignee(i % 4 == 0 ? null : assignee);
+            issues[i] = issue;
+        }
+    }
+
+    private static User user(Long id, String name) {
+        User u = new User();
+        u.setId(id);
+        u.setName(name);
+        u.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+        return u;
+    }
+
+    @Benchmark
+    public IssueView toView() {
+        return IssueService.toView(issues[next++ & 63]);
+    }
+}
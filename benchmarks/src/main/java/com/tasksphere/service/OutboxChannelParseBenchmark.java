@@ -0,0 +1,38 @@
+package com.tasksphere.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Channel parsing done by OutboxPublisherJob for every outbox row: all three
+ * ids are parsed from project, issue and sprint channels alike.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutboxChannelParseBenchmark {
+
+    String[] channels = {"project.12", "issue.104711", "sprint.318", "user.4242"};
+    int next;
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        String channel = channels[next++ & 3];
+        bh.consume(OutboxPublisherJob.parseProjectId(channel));
+        bh.consume(OutboxPublisherJob.parseIssueId(channel));
+        bh.consume(OutboxPublisherJob.parseSprintId(channel));
+    }
+}